@@ -0,0 +1,57 @@
+package game.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.model.BenchmarkLevels;
+import game.model.GameModel;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Colisiones del controlador y ticks completos por segundo.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    @Param({ "0", "1", "2", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE })
+    public String level;
+
+    private GameController controller;
+    private Simulator simulator;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        controller = new GameController(BenchmarkLevels.model(level));
+        GameModel simulatedModel = BenchmarkLevels.model(level);
+        simulator = new Simulator(simulatedModel, InputSource.IDLE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void checkCollisions() {
+        controller.checkCollisions();
+    }
+
+    /** Ticks por segundo de la simulación completa (modelo + colisiones). */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void tick() {
+        simulator.step();
+    }
+}
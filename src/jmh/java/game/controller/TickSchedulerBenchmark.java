@@ -0,0 +1,64 @@
+package game.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.model.BenchmarkLevels;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Un tick del {@link TickScheduler} con muchas sesiones del mismo nivel, según el número de
+ * hilos del pool. Con N núcleos libres el tiempo debería bajar casi N veces hasta que
+ * cada hilo tenga pocos trozos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickSchedulerBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int sessions;
+
+    @Param({ "1", "2", "4", "8", "16", "32" })
+    public int parallelism;
+
+    @Param({ "3" })
+    public String level;
+
+    private TickScheduler scheduler;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        scheduler = new TickScheduler(parallelism, null);
+        for (int i = 0; i < sessions; i++) {
+            GameSession session = new GameSession(BenchmarkLevels.model(level));
+            session.setInput(i % 16); // Cada sesión con una dirección fija distinta
+            scheduler.add(session);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Benchmark
+    public void tick() {
+        scheduler.tick();
+    }
+}
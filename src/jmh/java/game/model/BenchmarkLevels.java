@@ -0,0 +1,142 @@
+package game.model;
+
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Niveles que usan todos los benchmarks.
+ * Un "spec" es el índice de un nivel de 'levels.json' ("0", "1", ...) o el nombre
+ * de un nivel sintético grande ("large", "huge"). Los nuevos niveles de
+ * 'levels.json' se pueden medir sin recompilar con {@code -p level=4,5}.
+ */
+public class BenchmarkLevels {
+    public static final String LARGE = "large"; // tiles de 10px, 1000 obstáculos
+    public static final String HUGE = "huge";   // tiles de 5px, 5000 obstáculos
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public static Level load(String spec) throws LevelLoadException {
+        int index = levelIndex(spec);
+        if (index >= 0) {
+            return LevelLoader.loadLevel(index);
+        }
+        return LevelLoader.parseLevel(levelNode(spec));
+    }
+
+    public static GameModel model(String spec) throws LevelLoadException {
+        return new GameModel(load(spec));
+    }
+
+    /**
+     * @return El índice en 'levels.json', o -1 si el spec es un nivel sintético.
+     */
+    public static int levelIndex(String spec) {
+        if (LARGE.equals(spec) || HUGE.equals(spec)) {
+            return -1;
+        }
+        return Integer.parseInt(spec);
+    }
+
+    public static JsonNode levelNode(String spec) {
+        if (LARGE.equals(spec)) {
+            return syntheticLevel(10, 1000, 40, 1L);
+        }
+        if (HUGE.equals(spec)) {
+            return syntheticLevel(5, 5000, 200, 2L);
+        }
+        return LevelLoader.getLevelData(Integer.parseInt(spec));
+    }
+
+    /**
+     * Genera un nivel con el mismo formato que 'levels.json' que ocupa toda la ventana:
+     * bordes de pared, pilares y puertas aleatorias, y obstáculos y monedas en celdas libres.
+     */
+    static ObjectNode syntheticLevel(int tileSize, int obstacleCount, int coinCount, long seed) {
+        Random random = new Random(seed);
+        int cols = Config.WINDOW_WIDTH / tileSize;
+        int rows = (Config.WINDOW_HEIGHT - Config.HEADER_HEIGHT) / tileSize;
+
+        int[][] tiles = new int[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (i == 0 || j == 0 || i == rows - 1 || j == cols - 1) {
+                    tiles[i][j] = Config.TILE_WALL;
+                } else {
+                    int roll = random.nextInt(100);
+                    tiles[i][j] = roll < 5 ? Config.TILE_WALL : (roll < 6 ? Config.TILE_DOOR : Config.TILE_GROUND);
+                }
+            }
+        }
+        // La zona de salida del jugador siempre queda libre
+        for (int i = 1; i <= 3; i++) {
+            for (int j = 1; j <= 3; j++) {
+                tiles[i][j] = Config.TILE_GROUND;
+            }
+        }
+
+        ObjectNode level = mapper.createObjectNode();
+        ObjectNode player = level.putObject("player");
+        player.put("x", tileSize + 1);
+        player.put("y", tileSize + 1);
+        player.put("size", Math.max(2, tileSize - 4));
+        player.put("speed", 2);
+
+        ObjectNode goal = level.putObject("goal");
+        goal.put("x", (cols - 3) * tileSize);
+        goal.put("y", (rows - 3) * tileSize);
+        goal.put("width", 2 * tileSize);
+        goal.put("height", 2 * tileSize);
+
+        ObjectNode key = level.putObject("key");
+        key.put("x", 2 * tileSize);
+        key.put("y", 2 * tileSize);
+        key.put("width", Math.max(4, tileSize / 2));
+        key.put("height", tileSize);
+
+        ArrayNode obstacles = level.putArray("obstacles");
+        for (int n = 0; n < obstacleCount; n++) {
+            int[] cell = freeCell(tiles, random);
+            ObjectNode obstacle = obstacles.addObject();
+            obstacle.put("x", cell[1] * tileSize + tileSize / 2);
+            obstacle.put("y", cell[0] * tileSize + tileSize / 2);
+            obstacle.put("radius", Math.max(1, tileSize * 3 / 10));
+            obstacle.put("speed", 1 + random.nextInt(3));
+            obstacle.put("horizontal", random.nextBoolean());
+        }
+
+        ArrayNode coins = level.putArray("coins");
+        for (int n = 0; n < coinCount; n++) {
+            int[] cell = freeCell(tiles, random);
+            ObjectNode coin = coins.addObject();
+            coin.put("x", cell[1] * tileSize + tileSize / 2);
+            coin.put("y", cell[0] * tileSize + tileSize / 2);
+            coin.put("radius", Math.max(1, tileSize / 4));
+        }
+
+        ArrayNode tileMap = level.putArray("tileMap");
+        for (int[] row : tiles) {
+            ArrayNode rowNode = tileMap.addArray();
+            for (int tile : row) {
+                rowNode.add(tile);
+            }
+        }
+        level.put("tileSize", tileSize);
+        return level;
+    }
+
+    private static int[] freeCell(int[][] tiles, Random random) {
+        while (true) {
+            int row = 4 + random.nextInt(tiles.length - 5);
+            int col = 4 + random.nextInt(tiles[0].length - 5);
+            if (tiles[row][col] == Config.TILE_GROUND) {
+                return new int[] { row, col };
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package game.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Consultas de pared y movimiento de obstáculos de un nivel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    @Param({ "0", "1", "2", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE })
+    public String level;
+
+    private Level currentLevel;
+    private List<Obstacle> obstacles;
+    private float[] probeX;
+    private float[] probeY;
+    private int probeSize;
+    private long seekTick;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        currentLevel = BenchmarkLevels.load(level);
+        obstacles = currentLevel.getObstacles();
+        probeSize = currentLevel.getPlayer().getSize();
+
+        // Rejilla de posiciones de prueba que recorre todo el área de juego
+        int columns = 64;
+        int rows = 32;
+        probeX = new float[columns * rows];
+        probeY = new float[columns * rows];
+        float stepX = (float) (Config.WINDOW_WIDTH - probeSize) / columns;
+        float stepY = (float) (Config.WINDOW_HEIGHT - Config.HEADER_HEIGHT - probeSize) / rows;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                probeX[i * columns + j] = j * stepX + 0.5f;
+                probeY[i * columns + j] = i * stepY + 0.5f;
+            }
+        }
+    }
+
+    /** Tiempo total de las 2048 consultas de la rejilla. */
+    @Benchmark
+    public int isCollidingWithWall() {
+        int hits = 0;
+        for (int i = 0; i < probeX.length; i++) {
+            if (currentLevel.isCollidingWithWall(probeX[i], probeY[i], probeSize, probeSize)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** Las 2048 posiciones de la rejilla contra los obstáculos, con la rejilla del nivel si la tiene. */
+    @Benchmark
+    public int findObstacleTouching() {
+        int hits = 0;
+        for (int i = 0; i < probeX.length; i++) {
+            if (currentLevel.findObstacleTouching(probeX[i], probeY[i], probeSize) >= 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** Lo mismo probando siempre contra todos los obstáculos, como referencia. */
+    @Benchmark
+    public int findObstacleTouchingLinear() {
+        ObstacleField field = currentLevel.getObstacleField();
+        int hits = 0;
+        for (int i = 0; i < probeX.length; i++) {
+            if (field.firstIntersecting(probeX[i], probeY[i], probeSize) >= 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** Un tick de todos los obstáculos del nivel. */
+    @Benchmark
+    public void obstacleUpdate(Blackhole bh) {
+        int[][] tileMap = currentLevel.getTileMap();
+        int tileSize = currentLevel.getTileSize();
+        for (int i = 0; i < obstacles.size(); i++) {
+            obstacles.get(i).update(tileMap, tileSize);
+        }
+        bh.consume(obstacles.get(0).getX());
+    }
+
+    /** Salto de los obstáculos a un tick lejano, sin simular los intermedios. */
+    @Benchmark
+    public ObstacleField seekObstacles() {
+        seekTick += 1_000_003;
+        currentLevel.seekObstacles(seekTick);
+        return currentLevel.getObstacleField();
+    }
+
+    /** Un tick completo del nivel (obstáculos y jugador). */
+    @Benchmark
+    public void levelUpdate() {
+        currentLevel.update();
+    }
+}
@@ -0,0 +1,103 @@
+package game.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Carga de niveles. Los niveles de 'levels.json' pasan por
+ * {@link LevelLoader#loadLevel(int)} (una copia de su {@link LevelTemplate}, salvo la primera
+ * vez); los sintéticos por {@link LevelLoader#parseLevel}. newLevel es solo la copia.
+ * loadLevelPack carga el mismo nivel compilado a un '.lvlbin' proyectado en memoria.
+ * Los "cold" incluyen leer el fichero (parsear el JSON o proyectar el paquete), como al
+ * arrancar una sesión nueva.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelLoaderBenchmark {
+
+    @Param({ "0", "1", "2", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE })
+    public String level;
+
+    private int levelIndex;
+    private JsonNode syntheticNode;
+    private Path jsonFile;
+    private Path packFile;
+    private LevelPack pack;
+    private LevelTemplate template;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Setup
+    public void setup() throws IOException, LevelLoadException {
+        levelIndex = BenchmarkLevels.levelIndex(level);
+        if (levelIndex < 0) {
+            syntheticNode = BenchmarkLevels.levelNode(level);
+        }
+        JsonNode levelNode = BenchmarkLevels.levelNode(level);
+        jsonFile = Files.createTempFile("benchmark", ".json");
+        mapper.writeValue(jsonFile.toFile(), levelNode);
+        packFile = Files.createTempFile("benchmark", LevelPack.EXTENSION);
+        LevelPackCompiler.compile(Collections.singletonList(levelNode), packFile);
+        pack = LevelPack.open(packFile);
+        template = LevelTemplate.of(LevelLoader.parseLevel(levelNode));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pack = null;
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(packFile);
+    }
+
+    @Benchmark
+    public Level loadLevel() throws LevelLoadException {
+        if (levelIndex >= 0) {
+            return LevelLoader.loadLevel(levelIndex);
+        }
+        return LevelLoader.parseLevel(syntheticNode);
+    }
+
+    @Benchmark
+    public Level newLevel() {
+        return template.newLevel();
+    }
+
+    @Benchmark
+    public Level loadLevelPack() throws LevelLoadException {
+        return pack.loadLevel(0);
+    }
+
+    @Benchmark
+    public Level loadLevelJsonCold() throws IOException, LevelLoadException {
+        return LevelLoader.parseLevel(mapper.readTree(jsonFile.toFile()));
+    }
+
+    @Benchmark
+    public Level loadLevelPackCold() throws LevelLoadException {
+        return LevelPack.open(packFile).loadLevel(0);
+    }
+}
@@ -0,0 +1,68 @@
+package game.model;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Memoria por partida de cada nivel: cuánto ocupa un nivel cargado entero (como hacía
+ * {@link LevelLoader#loadLevel} antes de {@link LevelTemplate}) frente a una copia de su
+ * plantilla, que solo tiene el estado mutable. Se crean muchas copias vivas a la vez y se
+ * divide lo que crece el heap (tras varios GC) entre el número de copias. Uso (tras
+ * {@code mvn -Pjmh package}):
+ * <pre>java -cp target/benchmarks.jar game.model.LevelMemoryCheck [copias]</pre>
+ */
+public class LevelMemoryCheck {
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private static final long HEAP_BUDGET = 256L << 20; // Lo que pueden ocupar las copias de una medida
+
+    private interface LevelFactory {
+        Level create() throws LevelLoadException;
+    }
+
+    public static void main(String[] args) throws LevelLoadException {
+        int copies = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000;
+        String[] specs = { "0", "1", "2", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE };
+
+        System.out.printf("%-6s %10s %14s %14s %10s%n", "nivel", "obstáculos", "nivel entero", "con plantilla", "ahorro");
+        for (String spec : specs) {
+            JsonNode node = BenchmarkLevels.levelNode(spec);
+            LevelTemplate template = LevelTemplate.of(LevelLoader.parseLevel(node));
+            long full = measure(() -> LevelLoader.parseLevel(node), copies);
+            long perCopy = measure(template::newLevel, copies);
+            System.out.printf("%-6s %10d %11.1f KB %11.1f KB %9.1fx%n", spec, template.getObstacleCount(),
+                    full / 1024.0, perCopy / 1024.0, full / (double) Math.max(1, perCopy));
+        }
+    }
+
+    // Un nivel entero puede ocupar megas (recorridos precalculados): se estima primero con
+    // pocas copias y se crean tantas como quepan en HEAP_BUDGET
+    private static long measure(LevelFactory factory, int copies) throws LevelLoadException {
+        long estimate = Math.max(1, bytesPerLevel(factory, 16));
+        return bytesPerLevel(factory, (int) Math.max(16, Math.min(copies, HEAP_BUDGET / estimate)));
+    }
+
+    private static long bytesPerLevel(LevelFactory factory, int copies) throws LevelLoadException {
+        factory.create(); // Calentar: índices, clases y cachés que no cuentan por copia
+        Level[] levels = new Level[copies];
+        long before = usedHeap();
+        for (int i = 0; i < copies; i++) {
+            levels[i] = factory.create();
+        }
+        long after = usedHeap();
+        if (levels[copies - 1] == null) { // Mantiene vivas las copias hasta medir
+            throw new IllegalStateException();
+        }
+        return Math.max(0, after - before) / copies;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
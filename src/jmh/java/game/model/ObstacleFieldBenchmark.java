@@ -0,0 +1,62 @@
+package game.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Kernel escalar frente al vectorial de {@link ObstacleField}. El vectorial necesita compilar
+ * también con el perfil vector: {@code mvn -Pjmh,vector package}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class ObstacleFieldBenchmark {
+
+    @Param({ "0", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE })
+    public String level;
+
+    @Param({ "scalar", "vector" })
+    public String kernel;
+
+    private Level currentLevel;
+    private ObstacleField field;
+    private Player player;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        currentLevel = BenchmarkLevels.load(level);
+        ObstacleKernel selected = "vector".equals(kernel) ? ObstacleKernel.preferred() : ObstacleKernel.SCALAR;
+        if ("vector".equals(kernel) && !selected.isVectorized()) {
+            throw new IllegalStateException("La Vector API no está disponible en esta JVM");
+        }
+        field = ObstacleField.bind(currentLevel.getObstacles(), selected);
+        player = currentLevel.getPlayer();
+    }
+
+    @Benchmark
+    public ObstacleField update() {
+        field.update(currentLevel.getTileMap(), currentLevel.getTileSize());
+        return field;
+    }
+
+    @Benchmark
+    public int firstIntersecting() {
+        return field.firstIntersecting(player.getX(), player.getY(), player.getSize());
+    }
+}
@@ -0,0 +1,83 @@
+package game.observer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.model.BenchmarkLevels;
+import game.model.GameModel;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Lo que le cuesta al hilo del juego publicar un evento en el {@link EventBus}, con un
+ * suscriptor que no hace nada ("fast") o uno que tarda 1 ms por lote ("slow", como una
+ * terminal lenta, así que la cola se llena y manda la política). notifySync es lo que
+ * costaba antes llamar directamente a ese mismo suscriptor lento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Param({ "DROP", "COALESCE", "BLOCK" })
+    public EventBus.Backpressure policy;
+
+    @Param({ "fast", "slow" })
+    public String subscriber;
+
+    private EventBus bus;
+    private GameModel model;
+    private Observer observer;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        model = BenchmarkLevels.model("0");
+        boolean slow = "slow".equals(subscriber);
+        observer = new Observer() {
+            @Override
+            public void onNotify(GameModel model, EventType event) {
+                if (slow) {
+                    LockSupport.parkNanos(1_000_000);
+                }
+            }
+
+            @Override
+            public void onNotifyBatch(GameModel[] models, EventType[] events, int[] deathCounts,
+                    int[] levelIndexes, int count) {
+                onNotify(models[0], events[0]);
+            }
+        };
+        bus = new EventBus(EventBus.DEFAULT_CAPACITY, policy);
+        bus.subscribe(observer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        bus.publish(model, EventType.COIN_COLLECTED);
+    }
+
+    @Benchmark
+    public void notifySync() {
+        observer.onNotify(model, EventType.COIN_COLLECTED);
+    }
+}
@@ -0,0 +1,65 @@
+package game.observer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escribir eventos en el {@link EventJournal}. Cada iteración escribe un número fijo de
+ * registros (BATCH) en un diario nuevo con segmentos pequeños, para medir también el cambio de
+ * segmento sin llenar el disco; el resultado es el tiempo de la iteración entera.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = EventJournalBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = EventJournalBenchmark.BATCH)
+@Fork(1)
+public class EventJournalBenchmark {
+    static final int BATCH = 1_000_000; // 40 MB por iteración
+    private static final int RECORDS_PER_SEGMENT = 1 << 16;
+    private static final EventType[] TYPES = EventType.values();
+
+    private Path directory;
+    private EventJournal journal;
+    private long tick;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = new EventJournal(directory, RECORDS_PER_SEGMENT);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        journal.close();
+        journal = null;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void append() {
+        tick++;
+        journal.append(tick, 1, 0, TYPES[(int) (tick % TYPES.length)], tick, -tick);
+    }
+}
@@ -0,0 +1,88 @@
+package game.utils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.model.BenchmarkLevels;
+import game.model.Coin;
+import game.model.Goal;
+import game.model.Key;
+import game.model.Level;
+import game.model.Obstacle;
+import game.model.Player;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Cada sobrecarga de {@link CollisionUtil#intersects}, contra todas las entidades del nivel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionUtilBenchmark {
+
+    @Param({ "0", "1", "2", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE })
+    public String level;
+
+    private Player player;
+    private List<Obstacle> obstacles;
+    private List<Coin> coins;
+    private Goal goal;
+    private Key key;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        Level currentLevel = BenchmarkLevels.load(level);
+        player = currentLevel.getPlayer();
+        obstacles = currentLevel.getObstacles();
+        coins = currentLevel.getCoins();
+        goal = currentLevel.getGoal();
+        key = currentLevel.getKey();
+    }
+
+    @Benchmark
+    public int playerVsObstacles() {
+        int hits = 0;
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (CollisionUtil.intersects(player, obstacles.get(i))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int playerVsCoins() {
+        int hits = 0;
+        for (int i = 0; i < coins.size(); i++) {
+            if (CollisionUtil.intersects(player, coins.get(i))) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public boolean playerVsGoal() {
+        return CollisionUtil.intersects(player, goal);
+    }
+
+    @Benchmark
+    public boolean playerVsKey() {
+        return CollisionUtil.intersects(player, key);
+    }
+}
@@ -0,0 +1,60 @@
+package game.view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.model.BenchmarkLevels;
+import game.model.Config;
+import game.model.GameModel;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Tiempo de frame de {@link GameView#renderGame} dibujando en una imagen fuera de pantalla.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameViewBenchmark {
+
+    @Param({ "0", "1", "2", "3", BenchmarkLevels.LARGE, BenchmarkLevels.HUGE })
+    public String level;
+
+    private GameModel model;
+    private GameView view;
+    private BufferedImage frame;
+
+    @Setup
+    public void setup() throws LevelLoadException {
+        model = BenchmarkLevels.model(level);
+        view = new GameView();
+        frame = new BufferedImage(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    public BufferedImage renderGame() {
+        // Un Graphics nuevo por frame, como en paintComponent
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            view.renderGame(g2d, model);
+        } finally {
+            g2d.dispose();
+        }
+        return frame;
+    }
+}
@@ -4,51 +4,45 @@ import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 
 import game.controller.GameController;
+import game.controller.GameLoop;
 import game.model.GameModel;
 import game.model.Level;
 import game.model.Player;
+import game.model.Config;
 import game.view.ConsoleView;
+import game.view.GameCanvas;
 import game.view.GamePanel;
 
 import java.util.Scanner;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.CountDownLatch;
 
 public class Main {
-    private static boolean isGameFinished = false; // Bandera para indicar fin del juego gráfico
 
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         String choice;
+        // Las partidas del menú comparten el controlador (y con él el modelo y el top 10)
+        GameController controller = new GameController();
 
         while (true) { // Bucle infinito hasta que el usuario elija salir
-            isGameFinished = false; // Reinicia la bandera
             choice = displayMainMenu(scanner); // Llama al nuevo método del menú
 
             switch (choice) {
                 case "1":
-                    runGraphicalGame();
-                    while (!isGameFinished) {
-                        try {
-                            Thread.sleep(100); // Pequeña pausa para no saturar el CPU
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.out.println("Interrupción detectada: " + e.getMessage());
-                        }
-                    }
-                    // Nota: El programa terminará cuando se cierre la ventana de Swing.
+                    runGraphicalGame(controller); // Vuelve cuando se cierra la ventana
                     break; // Vuelve al menú después de que termine el juego gráfico
                 case "2":
-                    runInteractiveConsoleGame(scanner);
+                    runInteractiveConsoleGame(controller, scanner);
                     break; // Vuelve al menú después de que termine el juego de consola
                 case "3":
-                    runConsoleSimulation();
+                    runConsoleSimulation(controller);
                     System.out.println("Presiona Enter para continuar...");
                     scanner.nextLine(); // Espera a que el usuario presione Enter
                     break; // Vuelve al menú después de la simulación
                 case "4":
-                    GameController controllerStats = GameController.getInstance();
-                    GameModel modelStats = controllerStats.getGameModel();
+                    GameModel modelStats = controller.getGameModel();
                     if (modelStats != null) {
                         System.out.println("\n--- Estadísticas - Top 10 ---");
                         java.util.ArrayList<game.model.Score> topTen = modelStats.getTopTen();
@@ -79,26 +73,41 @@ public class Main {
         }
     }
 
-    private static void runGraphicalGame() {
+    // Espera (en el hilo del menú) a que termine la partida gráfica o se cierre la ventana
+    private static void runGraphicalGame(GameController controller) {
+        CountDownLatch finished = new CountDownLatch(1);
+        // Con -Dgame.render=active se dibuja con un BufferStrategy desde un hilo propio
+        if ("active".equals(System.getProperty("game.render"))) {
+            runActiveRenderedGame(controller, finished);
+        } else {
+            runPassiveRenderedGame(controller, finished);
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Interrupción detectada: " + e.getMessage());
+        }
+        controller.saveRecording(); // Con -Dgame.recordings=directorio
+    }
+
+    private static void runPassiveRenderedGame(GameController controller, CountDownLatch finished) {
         // Es una buena práctica ejecutar el código de la GUI de Swing en el
         // Event Dispatch Thread (EDT) para evitar problemas de concurrencia.
         javax.swing.SwingUtilities.invokeLater(() -> {
             try {
-                // 1. OBTENER EL CONTROLADOR (SINGLETON)
-                GameController controller = GameController.getInstance();
-
-                // 2. CREAR LA VISTA (EL PANEL DEL JUEGO)
+                // 1. CREAR LA VISTA (EL PANEL DEL JUEGO)
                 GamePanel gamePanel = new GamePanel(controller);
 
-                // 3. CONECTAR LAS PIEZAS
+                // 2. CONECTAR LAS PIEZAS
                 // El controlador necesita una referencia al panel para poder pedirle que se
                 // repinte (`repaint()`).
                 controller.setView(gamePanel);
 
-                // 4. INICIALIZAR EL JUEGO
+                // 3. INICIALIZAR EL JUEGO
                 controller.initGame();
 
-                // 5. CONFIGURAR LA VENTANA PRINCIPAL (JFRAME)
+                // 4. CONFIGURAR LA VENTANA PRINCIPAL (JFRAME)
                 JFrame frame = new JFrame("World's Hardest Game");
                 frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE); // Cambiado a DISPOSE para no salir
                 frame.setResizable(false);
@@ -111,28 +120,28 @@ public class Main {
                 // teclado.
                 gamePanel.requestFocusInWindow();
 
-                // 6. INICIAR EL BUCLE DEL JUEGO (GAME LOOP)
+                // 5. INICIAR EL BUCLE DEL JUEGO (GAME LOOP)
                 Timer timer = new Timer();
+                frame.addWindowListener(new java.awt.event.WindowAdapter() {
+                    @Override
+                    public void windowClosed(java.awt.event.WindowEvent e) {
+                        timer.cancel(); // Cerrar la ventana también termina la partida
+                        finished.countDown();
+                    }
+                });
                 timer.scheduleAtFixedRate(new TimerTask() {
                     @Override
                     public void run() {
                         // El bucle ahora hace tres cosas:
                         controller.update(); // 1. Actualiza el estado del juego.
-                        gamePanel.repaint(); // 2. Pide a la vista que se repinte.
+                        gamePanel.repaintDirty(); // 2. Pide a la vista que repinte lo que cambió.
 
                         if (controller.getGameModel().isGameOver()) { // 3. Comprueba si el juego ha terminado.
-                            String playerName = JOptionPane.showInputDialog("¡Juego completado! Ingresa tu nombre para el top 10:");
-                            if (playerName == null || playerName.trim().isEmpty()) {
-                                playerName = "Jugador Anónimo";
-                            }
-                            controller.endGame(playerName); // Guarda el nombre del jugador en el top 10.
                             timer.cancel(); // Detiene el Timer
-                            frame.dispose(); // Cierra la ventana pero no el programa
-                            System.out.println("Volviendo al menú...");
-                            isGameFinished = true; // Marca el fin del juego;
+                            javax.swing.SwingUtilities.invokeLater(() -> finishGraphicalGame(controller, frame));
                         }
                     }
-                }, 0, 1000 / 60);
+                }, 0, 1000 / Config.TICKS_PER_SECOND);
             } catch (Exception e) {
                 // Si algo catastrófico ocurre durante la inicialización, lo capturamos aquí.
                 e.printStackTrace();
@@ -145,11 +154,64 @@ public class Main {
         });
     }
 
+    /**
+     * Igual que runGraphicalGame, pero con renderizado activo: un Canvas con BufferStrategy
+     * y un GameLoop que simula a paso fijo y dibuja frames interpolados a los FPS objetivo
+     * (-Dgame.fps=N).
+     */
+    private static void runActiveRenderedGame(GameController controller, CountDownLatch finished) {
+        javax.swing.SwingUtilities.invokeLater(() -> {
+            try {
+                GameCanvas canvas = new GameCanvas(controller.getInputHandler());
+                controller.initGame();
+
+                JFrame frame = new JFrame("World's Hardest Game");
+                frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+                frame.setResizable(false);
+                frame.add(canvas);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                canvas.initBuffers(); // El BufferStrategy necesita la ventana visible
+                canvas.requestFocus();
+
+                GameLoop loop = new GameLoop(controller, canvas, GameLoop.configuredTargetFps(),
+                        // El diálogo del final se muestra en el EDT, no en el hilo del loop
+                        () -> javax.swing.SwingUtilities.invokeLater(() -> finishGraphicalGame(controller, frame)));
+                frame.addWindowListener(new java.awt.event.WindowAdapter() {
+                    @Override
+                    public void windowClosed(java.awt.event.WindowEvent e) {
+                        loop.stop(); // Al cerrar la ventana deja de simular y dibujar
+                        finished.countDown();
+                    }
+                });
+                loop.start();
+            } catch (Exception e) {
+                e.printStackTrace();
+                JOptionPane.showMessageDialog(null,
+                        "Ocurrió un error fatal al iniciar el juego: " + e.getMessage(),
+                        "Error Crítico",
+                        JOptionPane.ERROR_MESSAGE);
+                System.exit(1);
+            }
+        });
+    }
+
+    // Pide el nombre para el top 10 y cierra la ventana (con eso el menú sigue)
+    private static void finishGraphicalGame(GameController controller, JFrame frame) {
+        String playerName = JOptionPane.showInputDialog("¡Juego completado! Ingresa tu nombre para el top 10:");
+        if (playerName == null || playerName.trim().isEmpty()) {
+            playerName = "Jugador Anónimo";
+        }
+        controller.endGame(playerName); // Guarda el nombre del jugador en el top 10.
+        frame.dispose(); // Cierra la ventana pero no el programa
+        System.out.println("Volviendo al menú...");
+    }
+
     /**
      * Nuevo método para correr el juego de forma interactiva en la consola.
      */
-    private static void runInteractiveConsoleGame(Scanner scanner) {
-        GameController controller = GameController.getInstance();
+    private static void runInteractiveConsoleGame(GameController controller, Scanner scanner) {
         controller.initGame();
 
         GameModel model = controller.getGameModel();
@@ -177,32 +239,26 @@ public class Main {
                 break;
             }
 
+            // Cada comando mantiene la dirección pulsada lo que se tarda en cruzar una celda,
+            // con las mismas reglas (paredes, obstáculos) que el juego gráfico. Así la partida
+            // se graba y se puede reproducir como cualquier otra.
             Player player = model.getPlayer();
-            float currentX = player.getX();
-            float currentY = player.getY();
-            int stepSize = currentLevel.getTileSize(); // Nos moveremos una celda entera
-
-            // Modificamos directamente la posición del jugador
-            switch (command) {
-                case 'w':
-                    player.setPosition(currentX, currentY - stepSize);
-                    break;
-                case 's':
-                    player.setPosition(currentX, currentY + stepSize);
-                    break;
-                case 'a':
-                    player.setPosition(currentX - stepSize, currentY);
-                    break;
-                case 'd':
-                    player.setPosition(currentX + stepSize, currentY);
-                    break;
+            int steps = Math.max(1, Math.round(currentLevel.getTileSize() / player.getSpeed()));
+            int deaths = model.getDeathCount();
+            for (int i = 0; i < steps && model.getPlayer() == player && model.getDeathCount() == deaths
+                    && !model.isGameOver(); i++) {
+                player.setMovingUp(command == 'w');
+                player.setMovingDown(command == 's');
+                player.setMovingLeft(command == 'a');
+                player.setMovingRight(command == 'd');
+                controller.update(); // Los obstáculos avanzan un paso y se comprueban las colisiones
             }
-
-            // Después de mover al jugador, llamamos a update() una vez.
-            // Esto hará que los obstáculos se muevan un paso y que se
-            // comprueben TODAS las colisiones en la nueva posición.
-            controller.update();
+            player.setMovingUp(false);
+            player.setMovingDown(false);
+            player.setMovingLeft(false);
+            player.setMovingRight(false);
             }
+            controller.saveRecording(); // Con -Dgame.recordings=directorio
 
             System.out.print("¡Juego Terminado! Ingresa tu nombre para el top 10: ");
             String playerName = scanner.nextLine().trim();
@@ -220,11 +276,10 @@ public class Main {
      * Simulación en consola actualizada para la arquitectura MVC.
      * Carga el juego, mueve al jugador y simula una muerte.
      */
-    private static void runConsoleSimulation() {
+    private static void runConsoleSimulation(GameController controller) {
         System.out.println("--- Iniciando Simulación en Consola (MVC) ---");
 
-        // 1. Obtenemos la instancia del controlador. No hay vista (panel).
-        GameController controller = GameController.getInstance();
+        // 1. El controlador del menú, sin vista (panel).
         controller.initGame(); // Inicializamos el modelo del juego.
 
         // 2. Obtenemos el modelo y el jugador a través del controlador.
@@ -297,6 +352,7 @@ public class Main {
             playerSim.setMovingDown(false);
         }
 
+        controller.saveRecording(); // Con -Dgame.recordings=directorio
         System.out.println("\n--- Fin de la Simulación en Consola ---");
     }
 
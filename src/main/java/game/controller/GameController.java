@@ -1,5 +1,8 @@
 package game.controller;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import javax.swing.JOptionPane;
 
 import game.model.GameModel;
@@ -7,48 +10,38 @@ import game.model.Key;
 import game.model.Level;
 import game.model.Player;
 import game.model.exception.LevelLoadException;
+import game.observer.EventJournal;
 import game.observer.UIUpdater;
 import game.utils.CollisionUtil;
+import game.utils.FrameTimings;
 import game.view.GamePanel;
 
 public class GameController {
 
-    // --- INICIO: Implementación del Patrón Singleton ---
-
-    // 1. Una variable estática y privada para guardar la ÚNICA instancia de la
-    // clase.
-    // Empieza siendo 'null'.
-    private static GameController instance;
-
-    // 2. El constructor es PRIVADO.
-    // Esto es fundamental, ya que impide que se puedan crear instancias
-    // con 'new GameController()' desde fuera de esta clase.
-    private GameController() {
-        // Obtenemos la única instancia de InputHandler a través de su
-        // "puerta de entrada" pública: el método getInstance().
-        this.inputHandler = InputHandler.getInstance();
+    /**
+     * Controlador de una partida con teclado (escritorio o consola). Tiene su propio
+     * {@link InputHandler}, que la vista debe registrar como KeyListener (ver
+     * {@link #getInputHandler()}); el modelo se crea en {@link #initGame()}.
+     * Cada partida se graba como las de {@link GameSession} (ver {@link #saveRecording()}).
+     */
+    public GameController() {
+        this.inputHandler = new InputHandler();
     }
 
-    // 3. Un método PÚBLICO y ESTÁTICO que crea la instancia si no existe
-    // y la devuelve. Este es el único punto de acceso a la clase.
-    // La palabra 'synchronized' lo hace seguro para usarse en diferentes hilos.
-    public static synchronized GameController getInstance() {
-        // Si la instancia todavía es 'null' (es la primera vez que se llama al
-        // método)...
-        if (instance == null) {
-            // ...se crea la instancia por primera y única vez.
-            instance = new GameController();
-        }
-        // Se devuelve la instancia (la nueva o la que ya existía).
-        return instance;
+    /**
+     * Constructor para ejecuciones sin interfaz (ver {@link Simulator}).
+     * Controla un modelo propio y no toca el InputHandler global.
+     */
+    GameController(GameModel model) {
+        this.inputHandler = null;
+        this.model = model;
     }
 
-    // --- FIN: Implementación del Patrón Singleton ---
-
     // Atributos del controlador para manejar el juego
     private GameModel model;
     private GamePanel view;
     private final InputHandler inputHandler;
+    private volatile InputRecorder recorder; // La partida en curso; null sin grabar
 
     /**
      * Conecta la vista (el panel) con el controlador.
@@ -70,7 +63,11 @@ public class GameController {
                 inputHandler.setActivePlayer(model.getPlayer());
 
                 UIUpdater uiUpdater = new UIUpdater();
-                model.getSubject().addObserver(uiUpdater);
+                model.getSubject().addAsyncObserver(uiUpdater);
+                EventJournal journal = EventJournal.configured(); // Con -Dgame.journal=directorio
+                if (journal != null) {
+                    model.getSubject().addObserver(journal);
+                }
             } else {
                 model.setGameOver(false); // Reinicia el estado de fin de juego
                 model.incrementLevelIndex(); // Asegura que comience desde el nivel 0
@@ -86,6 +83,7 @@ public class GameController {
                 }
                 inputHandler.setActivePlayer(model.getPlayer());
             }
+            startRecording();
         } catch (LevelLoadException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(null, "Error crítico al cargar niveles: " + e.getMessage(), "Error Crítico",
@@ -102,50 +100,102 @@ public class GameController {
         if (model == null || model.isGameOver()) {
             return;
         }
+        if (inputHandler != null) {
+            inputHandler.applyPendingInput(model.getPlayer()); // 0. Teclas recibidas desde el tick anterior
+        }
+        InputRecorder recorder = this.recorder;
+        if (recorder != null) {
+            // Lo que mueve al jugador en este tick, venga del teclado o de la consola
+            recorder.record(Simulator.maskOf(model.getPlayer()));
+        }
         model.update(); // 1. Actualiza la lógica del modelo
         checkCollisions(); // 2. Revisa las colisiones
     }
 
-    private void checkCollisions() {
-        Player player = model.getPlayer();
-        Level level = model.getCurrentLevel();
+    void checkCollisions() {
+        long start = FrameTimings.start();
+        try {
+            Player player = model.getPlayer();
+            Level level = model.getCurrentLevel();
 
-        if (player == null || level == null) return;
+            if (player == null || level == null) return;
 
-        // Colisión con obstáculos
-        for (game.model.Obstacle obstacle : level.getObstacles()) {
-            if (CollisionUtil.intersects(player, obstacle)) {
-                model.playerDied(); 
+            // Colisión con obstáculos (el nivel elige entre la rejilla y la prueba contra todos)
+            if (level.findObstacleTouching(player.getX(), player.getY(), player.getSize()) >= 0) {
+                model.playerDied();
                 return; // Si el jugador muere, no necesitamos chequear más colisiones en este frame.
             }
-        }
 
-        // Colisión con la llave
-        Key key = level.getKey();
-        if (key != null && !key.isCollected() && CollisionUtil.intersects(player, key)) {
-            model.collectKey(); 
-            level.openDoors();
-        }
+            // Colisión con la llave
+            Key key = level.getKey();
+            if (key != null && !key.isCollected() && CollisionUtil.intersects(player, key)) {
+                model.collectKey(); 
+                level.openDoors();
+            }
 
-        // Colisión con monedas
-        for (game.model.Coin coin : level.getCoins()) {
-            if (!coin.isCollected() && CollisionUtil.intersects(player, coin)) {
-                model.collectCoin(coin);
+            // Colisión con monedas
+            for (game.model.Coin coin : level.getCoins()) {
+                if (!coin.isCollected() && CollisionUtil.intersects(player, coin)) {
+                    model.collectCoin(coin);
+                }
             }
-        }
 
-        // Colisión con la meta
-        if (CollisionUtil.intersects(player, level.getGoal())) {
-            if (level.areAllCoinsCollectedInLevel()) {
-                try {
-                    model.completeLevel();
-                    if(model.getPlayer() != null) {
-                        inputHandler.setActivePlayer(model.getPlayer());
+            // Colisión con la meta
+            if (CollisionUtil.intersects(player, level.getGoal())) {
+                if (level.areAllCoinsCollectedInLevel()) {
+                    try {
+                        model.completeLevel();
+                        if (inputHandler != null && model.getPlayer() != null) {
+                            inputHandler.setActivePlayer(model.getPlayer());
+                        }
+                    } catch (LevelLoadException e) {
+                        model.setGameOver(true);
                     }
-                } catch (LevelLoadException e) {
-                    model.setGameOver(true);
                 }
             }
+        } finally {
+            FrameTimings.stop(FrameTimings.Phase.COLLISIONS, start);
+        }
+    }
+
+    // Una grabación nueva desde el estado actual del modelo (el principio de la partida)
+    private void startRecording() {
+        InputRecorder previous = recorder;
+        if (previous != null) {
+            model.getSubject().removeObserver(previous);
+        }
+        InputRecorder next = new InputRecorder(GameSession.levelsHash(model), model);
+        model.getSubject().addObserver(next);
+        recorder = next;
+    }
+
+    /**
+     * La entrada de la partida en curso (o de la última), o null si aún no se ha empezado ninguna.
+     */
+    public InputRecording getRecording() {
+        InputRecorder recorder = this.recorder;
+        return recorder != null ? recorder.toRecording() : null;
+    }
+
+    /**
+     * Con -Dgame.recordings=directorio, guarda allí la grabación de la partida como
+     * {@code game-<milisegundos>.whgrec}. Main la llama al acabar cada partida, termine el
+     * juego o no.
+     * @return El fichero escrito, o null si no se guardó.
+     */
+    public Path saveRecording() {
+        InputRecorder recorder = this.recorder;
+        Path directory = InputRecording.configuredDirectory();
+        if (recorder == null || directory == null || recorder.getTicks() == 0) {
+            return null;
+        }
+        Path file = directory.resolve("game-" + System.currentTimeMillis() + InputRecording.EXTENSION);
+        try {
+            recorder.toRecording().write(file);
+            return file;
+        } catch (IOException e) {
+            e.printStackTrace(); // Sin grabación la partida sigue valiendo
+            return null;
         }
     }
 
@@ -0,0 +1,100 @@
+package game.controller;
+
+import java.util.concurrent.locks.LockSupport;
+
+import game.model.Config;
+import game.model.GameModel;
+import game.view.GameCanvas;
+
+/**
+ * Game loop del renderizado activo, en su propio hilo. La simulación avanza a paso fijo
+ * ({@link Config#TICKS_PER_SECOND}) y entre tick y tick se dibujan frames a los FPS objetivo,
+ * interpolando las posiciones según el tiempo transcurrido desde el último tick.
+ * Como simulación y dibujo van en el mismo hilo, nunca se dibuja un tick a medias.
+ */
+public class GameLoop implements Runnable {
+    // Ticks máximos por frame para ponerse al día; si se supera, se descarta el retraso
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final GameController controller;
+    private final GameCanvas canvas;
+    private final long nanosPerTick;
+    private final long nanosPerFrame;
+    private final Runnable onGameOver;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param targetFps Frames por segundo a dibujar; 0 o menos para dibujar sin límite.
+     * @param onGameOver Se ejecuta (en el hilo del loop) cuando el juego termina, tras el último frame.
+     */
+    public GameLoop(GameController controller, GameCanvas canvas, int targetFps, Runnable onGameOver) {
+        this.controller = controller;
+        this.canvas = canvas;
+        this.nanosPerTick = 1_000_000_000L / Config.TICKS_PER_SECOND;
+        this.nanosPerFrame = targetFps > 0 ? 1_000_000_000L / targetFps : 0;
+        this.onGameOver = onGameOver;
+    }
+
+    /**
+     * FPS objetivo configurado con -Dgame.fps=N, o {@link Config#DEFAULT_TARGET_FPS}.
+     */
+    public static int configuredTargetFps() {
+        return Integer.getInteger("game.fps", Config.DEFAULT_TARGET_FPS);
+    }
+
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "render-loop");
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        long lastTick = System.nanoTime();
+        long nextFrame = lastTick;
+        while (running) {
+            long now = System.nanoTime();
+
+            // Simular todos los ticks que tocan hasta ahora
+            int ticks = 0;
+            while (now - lastTick >= nanosPerTick) {
+                controller.update();
+                lastTick += nanosPerTick;
+                if (++ticks == MAX_CATCH_UP_TICKS) {
+                    lastTick = now; // Demasiado retraso: se sigue desde ahora
+                }
+            }
+
+            GameModel model = controller.getGameModel();
+            boolean gameOver = model != null && model.isGameOver();
+            if (now >= nextFrame || gameOver) {
+                float alpha = Math.min(1f, (float) (now - lastTick) / nanosPerTick);
+                canvas.render(model, alpha);
+                nextFrame += nanosPerFrame;
+                if (nextFrame <= now) {
+                    nextFrame = now + nanosPerFrame; // Vamos tarde: no intentar recuperar frames perdidos
+                }
+            }
+
+            if (gameOver) {
+                running = false;
+                onGameOver.run();
+                return;
+            }
+
+            // Dormir hasta el próximo frame o el próximo tick, lo que llegue antes
+            long sleep = Math.min(nextFrame, lastTick + nanosPerTick) - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+    }
+}
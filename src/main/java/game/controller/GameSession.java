@@ -0,0 +1,108 @@
+package game.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import game.model.GameModel;
+import game.model.Player;
+import game.model.exception.LevelLoadException;
+import game.observer.EventJournal;
+
+/**
+ * Una partida independiente: su propio modelo, su propio controlador y su propia entrada.
+ * No tiene teclado ni vista, así que en la misma JVM puede haber tantas como se quiera (ver
+ * {@link SessionManager}).
+ * <p>
+ * La entrada se fija con {@link #setInput} desde cualquier hilo (p. ej. el que lee la red) y se
+ * aplica al principio del siguiente tick. El modelo solo debe tocarse desde el hilo que llama a
+ * {@link #tick()}.
+ * <p>
+ * Cada sesión graba su entrada con un {@link InputRecorder} (unos pocos bytes por cada cambio
+ * de teclas), que se puede guardar y reproducir después con {@link ReplayVerifier}.
+ */
+public class GameSession {
+    private static final AtomicLong nextId = new AtomicLong(1);
+
+    private final long id;
+    private final GameModel model;
+    private final GameController controller;
+    private final InputRecorder recorder;
+    private volatile int input = InputSource.NONE; // Máscara de InputSource
+    private volatile long tick; // Solo lo escribe el hilo de la sesión
+
+    public GameSession() throws LevelLoadException {
+        this(new GameModel());
+    }
+
+    public GameSession(GameModel model) {
+        this.id = nextId.getAndIncrement();
+        this.model = model;
+        this.controller = new GameController(model);
+        model.setSessionId(id);
+        this.recorder = new InputRecorder(levelsHash(model), model);
+        model.getSubject().addObserver(recorder);
+        EventJournal journal = EventJournal.configured(); // Con -Dgame.journal=directorio
+        if (journal != null) {
+            model.getSubject().addObserver(journal);
+        }
+    }
+
+    /**
+     * @param mask Combinación de {@link InputSource#UP}, DOWN, LEFT y RIGHT que el jugador mantiene pulsada.
+     */
+    public void setInput(int mask) {
+        this.input = mask;
+    }
+
+    /**
+     * Simula un tick con la última entrada recibida.
+     */
+    public void tick() {
+        int mask = input;
+        if (!model.isGameOver()) {
+            recorder.record(mask);
+        }
+        Player player = model.getPlayer();
+        if (player != null) {
+            Simulator.applyInput(player, mask);
+        }
+        controller.update();
+        tick++;
+    }
+
+    // 0 si no se pueden cargar los niveles: la repetición no podrá comprobar que son los mismos
+    static long levelsHash(GameModel model) {
+        try {
+            return model.getLevelsHash();
+        } catch (LevelLoadException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * La entrada grabada desde que se creó la sesión, con sus eventos.
+     */
+    public InputRecording getRecording() {
+        return recorder.toRecording();
+    }
+
+    /**
+     * Guarda la grabación en {@code directorio/session-<id>.whgrec}.
+     * @return El fichero escrito.
+     */
+    public Path saveRecording(Path directory) throws IOException {
+        Path file = directory.resolve("session-" + id + InputRecording.EXTENSION);
+        getRecording().write(file);
+        return file;
+    }
+
+    public boolean isFinished() {
+        return model.isGameOver();
+    }
+
+    public long getId() { return id; }
+    public int getInput() { return input; }
+    public long getTick() { return tick; }
+    public GameModel getGameModel() { return model; }
+}
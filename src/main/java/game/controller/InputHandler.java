@@ -4,25 +4,29 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 
 import game.model.Player;
+import game.utils.FrameTimings;
 
+/**
+ * Teclado del juego. Los eventos llegan en el hilo de Swing y solo se encolan (con su instante)
+ * en una {@link InputQueue}; el hilo de la simulación los aplica al jugador al principio de
+ * cada tick con {@link #applyPendingInput}. Así el Player solo se toca desde un hilo.
+ * Cada {@link GameController} de escritorio tiene el suyo.
+ */
 public class InputHandler extends KeyAdapter {
 
-    // --- INICIO: Implementación de Singleton ---
-    private static InputHandler instance;
+    // Código de evento: la dirección (InputSource.UP, ...) más este bit si es pulsar
+    private static final int PRESSED = 1 << 4;
 
-    // 1. Constructor privado para evitar 'new InputHandler()'.
-    private InputHandler() {}
+    private volatile Player activePlayer;
+    private final InputQueue queue = new InputQueue(InputQueue.DEFAULT_CAPACITY);
+    private volatile int droppedEvents; // Solo lo escribe el hilo de Swing
 
-    // 2. Método público para obtener la única instancia.
-    public static synchronized InputHandler getInstance() {
-        if (instance == null) {
-            instance = new InputHandler();
-        }
-        return instance;
-    }
-    // --- FIN: Implementación de Singleton ---
-
-    private Player activePlayer;
+    // Estado del hilo de la simulación
+    private final InputQueue.EventConsumer applyEvent = this::applyEvent;
+    private int held;    // Teclas pulsadas ahora mismo
+    private int tapped;  // Teclas pulsadas durante el tick actual, aunque ya se hayan soltado
+    private int appliedMask;
+    private Player appliedPlayer;
 
     public void setActivePlayer(Player player) {
         this.activePlayer = player;
@@ -30,27 +34,64 @@ public class InputHandler extends KeyAdapter {
 
     @Override
     public void keyPressed(KeyEvent e) {
-        if (activePlayer == null) return;
-        
-        int keyCode = e.getKeyCode();
-        switch (keyCode) {
-            case KeyEvent.VK_UP:    activePlayer.setMovingUp(true);    break;
-            case KeyEvent.VK_DOWN:  activePlayer.setMovingDown(true);  break;
-            case KeyEvent.VK_LEFT:  activePlayer.setMovingLeft(true);  break;
-            case KeyEvent.VK_RIGHT: activePlayer.setMovingRight(true); break;
-        }
+        enqueue(e.getKeyCode(), PRESSED);
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
+        enqueue(e.getKeyCode(), 0);
+    }
+
+    private void enqueue(int keyCode, int pressed) {
         if (activePlayer == null) return;
 
-        int keyCode = e.getKeyCode();
+        int direction;
         switch (keyCode) {
-            case KeyEvent.VK_UP:    activePlayer.setMovingUp(false);   break;
-            case KeyEvent.VK_DOWN:  activePlayer.setMovingDown(false); break;
-            case KeyEvent.VK_LEFT:  activePlayer.setMovingLeft(false); break;
-            case KeyEvent.VK_RIGHT: activePlayer.setMovingRight(false);break;
+            case KeyEvent.VK_UP:    direction = InputSource.UP;    break;
+            case KeyEvent.VK_DOWN:  direction = InputSource.DOWN;  break;
+            case KeyEvent.VK_LEFT:  direction = InputSource.LEFT;  break;
+            case KeyEvent.VK_RIGHT: direction = InputSource.RIGHT; break;
+            default: return;
+        }
+        if (!queue.offer(System.nanoTime(), direction | pressed)) {
+            droppedEvents++; // Solo si la simulación lleva cientos de eventos sin avanzar
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Aplica al jugador, en orden, las teclas pulsadas y soltadas desde el tick anterior.
+     * Se llama desde el hilo de la simulación al principio de cada tick (ver GameController.update).
+     * Una tecla pulsada y soltada dentro del mismo tick mueve al jugador durante ese tick.
+     * Si no llegó nada, no se toca al jugador (las simulaciones de consola lo mueven a mano).
+     */
+    void applyPendingInput(Player player) {
+        tapped = 0;
+        int events = queue.drain(applyEvent);
+        int mask = held | tapped;
+        if (player == null) {
+            return;
+        }
+        // Con un jugador nuevo (otro nivel) se mantienen las teclas que sigan pulsadas
+        boolean newPlayer = player != appliedPlayer && mask != 0;
+        if (events > 0 || mask != appliedMask || newPlayer) {
+            Simulator.applyInput(player, mask);
+            appliedMask = mask;
+            appliedPlayer = player;
+        }
+    }
+
+    private void applyEvent(long timestamp, int event) {
+        int direction = event & ~PRESSED;
+        if ((event & PRESSED) != 0) {
+            held |= direction;
+            tapped |= direction;
+        } else {
+            held &= ~direction;
+        }
+        FrameTimings.stop(FrameTimings.Phase.INPUT, timestamp);
+    }
+
+    public int getDroppedEvents() {
+        return droppedEvents;
+    }
+}
@@ -0,0 +1,79 @@
+package game.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cola circular sin locks para un único productor (el hilo de eventos de Swing) y un único
+ * consumidor (el hilo de la simulación). Cada evento es un instante en nanosegundos y un
+ * código (ver {@link InputHandler}); los arrays se reservan una vez y no se crea nada por evento.
+ * <p>
+ * Cada lado solo escribe su propio contador, y lo publica con {@code lazySet} después de
+ * escribir o leer el hueco, así que el otro lado nunca ve un evento a medias.
+ */
+final class InputQueue {
+    static final int DEFAULT_CAPACITY = 256;
+
+    @FunctionalInterface
+    interface EventConsumer {
+        void accept(long timestamp, int event);
+    }
+
+    private final long[] timestamps;
+    private final int[] events;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Siguiente a leer; solo lo escribe el consumidor
+    private final AtomicLong tail = new AtomicLong(); // Siguiente a escribir; solo lo escribe el productor
+    private long cachedHead; // Copia de head del productor: solo se relee cuando parece llena
+
+    /**
+     * @param capacity Potencia de dos.
+     */
+    InputQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de dos: " + capacity);
+        }
+        this.timestamps = new long[capacity];
+        this.events = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Solo desde el hilo productor.
+     * @return false si la cola está llena (el evento se descarta).
+     */
+    boolean offer(long timestamp, int event) {
+        long t = tail.get();
+        if (t - cachedHead == events.length) {
+            cachedHead = head.get();
+            if (t - cachedHead == events.length) {
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        timestamps[slot] = timestamp;
+        events[slot] = event;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Solo desde el hilo consumidor. Entrega en orden todos los eventos publicados hasta ahora.
+     * @return Cuántos eventos se entregaron.
+     */
+    int drain(EventConsumer consumer) {
+        long h = head.get();
+        long t = tail.get();
+        for (long p = h; p < t; p++) {
+            int slot = (int) p & mask;
+            consumer.accept(timestamps[slot], events[slot]);
+        }
+        if (t != h) {
+            head.lazySet(t);
+        }
+        return (int) (t - h);
+    }
+
+    int capacity() {
+        return events.length;
+    }
+}
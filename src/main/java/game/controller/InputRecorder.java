@@ -0,0 +1,101 @@
+package game.controller;
+
+import java.util.Arrays;
+
+import game.model.GameModel;
+import game.observer.EventType;
+import game.observer.Observer;
+
+/**
+ * Graba la entrada de una partida mientras se juega (ver {@link InputRecording}). Hay que
+ * llamar a {@link #record(int)} una vez por tick, antes de {@code GameController.update()}, y
+ * suscribirlo de forma síncrona al {@code Subject} del modelo para que apunte los eventos.
+ * Grabar un tick que repite la máscara anterior es una comparación y un incremento.
+ */
+public class InputRecorder implements Observer {
+    private final long levelsHash;
+    private final InputRecording.Start start;
+
+    private byte[] input = new byte[64];
+    private int inputLength;
+    private int mask = -1; // Máscara del tramo actual (-1: aún no hay ninguno)
+    private int run;
+    private int ticks;
+
+    private int[] eventTicks = new int[16];
+    private byte[] eventTypes = new byte[16];
+    private int eventCount;
+
+    /**
+     * @param levelsHash Ver {@code LevelLoader.getLevelsHash()}.
+     * @param model      El modelo, en el estado del que parte la grabación (no hace falta que
+     *                   sea el principio de un nivel).
+     */
+    public InputRecorder(long levelsHash, GameModel model) {
+        this.levelsHash = levelsHash;
+        this.start = InputRecording.Start.of(model);
+    }
+
+    public synchronized void record(int mask) {
+        ticks++;
+        if (mask == this.mask) {
+            run++;
+            return;
+        }
+        flushRun();
+        this.mask = mask;
+        this.run = 1;
+    }
+
+    @Override
+    public synchronized void onNotify(GameModel model, EventType event) {
+        if (eventCount == eventTicks.length) {
+            eventTicks = Arrays.copyOf(eventTicks, eventCount * 2);
+            eventTypes = Arrays.copyOf(eventTypes, eventCount * 2);
+        }
+        eventTicks[eventCount] = ticks;
+        eventTypes[eventCount] = (byte) event.ordinal();
+        eventCount++;
+    }
+
+    // Escribe el tramo actual (si hay)
+    private void flushRun() {
+        if (run == 0) {
+            return;
+        }
+        ensureCapacity(6);
+        if (run <= InputRecording.SHORT_RUN) {
+            input[inputLength++] = (byte) (mask << 4 | (run - 1));
+            return;
+        }
+        input[inputLength++] = (byte) (mask << 4 | InputRecording.SHORT_RUN);
+        int value = run - InputRecording.SHORT_RUN - 1;
+        while ((value & ~0x7F) != 0) {
+            input[inputLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        input[inputLength++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (inputLength + extra > input.length) {
+            input = Arrays.copyOf(input, Math.max(input.length * 2, inputLength + extra));
+        }
+    }
+
+    /**
+     * Lo grabado hasta ahora. Se puede seguir grabando después.
+     */
+    public synchronized InputRecording toRecording() {
+        int savedLength = inputLength;
+        flushRun();
+        byte[] bytes = Arrays.copyOf(input, inputLength);
+        inputLength = savedLength; // El tramo actual puede seguir creciendo
+        return new InputRecording(levelsHash, start, ticks, bytes,
+                Arrays.copyOf(eventTicks, eventCount), Arrays.copyOf(eventTypes, eventCount));
+    }
+
+    public synchronized int getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,306 @@
+package game.controller;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import game.model.GameModel;
+import game.model.Level;
+import game.model.Player;
+import game.observer.EventType;
+
+/**
+ * La entrada de una partida, tick a tick, más los eventos que produjo. Se graba con
+ * {@link InputRecorder} y se comprueba con {@link ReplayVerifier}. Es inmutable.
+ * <p>
+ * La máscara de cada tick (4 bits, ver {@link InputSource}) se guarda comprimida por tramos:
+ * cada byte lleva la máscara en los 4 bits altos y en los bajos la longitud del tramo menos 1
+ * (0-14), o 15 si detrás viene un varint con la longitud menos 16. Manteniendo una tecla
+ * pulsada un minuto son 3 bytes. Los eventos van como varint de ticks desde el anterior más
+ * un byte con el tipo.
+ * <p>
+ * La grabación puede empezar con el nivel a medias: guarda el estado del que parte (ver
+ * {@link Start}) para que la repetición lo restaure con {@code Level.seek} antes de empezar.
+ * <p>
+ * Formato del fichero (little-endian): int MAGIC, int VERSION, long hash de los niveles,
+ * long tick dentro del nivel, int nivel inicial, int muertes, float x e y del jugador,
+ * int flags (1: llave recogida, 2: puertas abiertas), int palabras de monedas, int ticks,
+ * int bytes de entrada, int eventos; después las monedas recogidas (un long por cada 64),
+ * la entrada y los eventos.
+ */
+public final class InputRecording {
+    // Propiedad del sistema con el directorio donde se guardan las grabaciones (de las sesiones
+    // del SessionManager y de las partidas de escritorio y consola)
+    public static final String RECORDINGS_PROPERTY = "game.recordings";
+    public static final String EXTENSION = ".whgrec";
+    public static final int MAGIC = 0x52474857; // "WHGR" en little-endian
+    public static final int VERSION = 2;
+    static final int HEADER_SIZE = 60;
+    private static final int KEY_COLLECTED = 1;
+    private static final int DOORS_OPEN = 2;
+    static final int SHORT_RUN = 15; // Longitudes 1-15 caben en el propio byte
+
+    private static final EventType[] TYPES = EventType.values();
+
+    private final long levelsHash;
+    private final Start start;
+    private final int tickCount;
+    private final byte[] input;
+    private final int[] eventTicks; // Tick (desde el principio de la grabación, empezando en 1)
+    private final byte[] eventTypes;
+
+    InputRecording(long levelsHash, Start start, int tickCount, byte[] input, int[] eventTicks, byte[] eventTypes) {
+        this.levelsHash = levelsHash;
+        this.start = start;
+        this.tickCount = tickCount;
+        this.input = input;
+        this.eventTicks = eventTicks;
+        this.eventTypes = eventTypes;
+    }
+
+    /**
+     * Estado de la partida cuando empezó la grabación: nivel, ticks que llevaba en él, muertes,
+     * posición del jugador, monedas recogidas, llave y puertas.
+     */
+    public static final class Start {
+        final int level;
+        final long levelTick;
+        final int deathCount;
+        final float playerX, playerY;
+        final long[] collectedCoins;
+        final boolean keyCollected, doorsOpen;
+
+        Start(int level, long levelTick, int deathCount, float playerX, float playerY, long[] collectedCoins,
+                boolean keyCollected, boolean doorsOpen) {
+            this.level = level;
+            this.levelTick = levelTick;
+            this.deathCount = deathCount;
+            this.playerX = playerX;
+            this.playerY = playerY;
+            this.collectedCoins = collectedCoins;
+            this.keyCollected = keyCollected;
+            this.doorsOpen = doorsOpen;
+        }
+
+        /**
+         * El estado actual del modelo (sin nivel si el juego ya terminó).
+         */
+        static Start of(GameModel model) {
+            Level level = model.getCurrentLevel();
+            if (level == null) {
+                return new Start(model.getCurrentLevelIndex(), 0, model.getDeathCount(), 0, 0, new long[0], false, false);
+            }
+            Player player = level.getPlayer();
+            return new Start(model.getCurrentLevelIndex(), level.getTick(), model.getDeathCount(),
+                    player != null ? player.getX() : 0, player != null ? player.getY() : 0, level.getCollectedCoins(),
+                    level.getKey() != null && level.getKey().isCollected(), level.areDoorsOpen());
+        }
+
+        /**
+         * Deja el modelo, con el nivel {@link #level} recién cargado, en este estado.
+         */
+        void restore(GameModel model) {
+            model.setDeathCount(deathCount);
+            Level level = model.getCurrentLevel();
+            if (level != null) {
+                level.seek(levelTick, playerX, playerY, collectedCoins, keyCollected, doorsOpen);
+            }
+        }
+    }
+
+    /**
+     * Recorre las máscaras en orden: {@link #nextMask()} devuelve la del siguiente tick.
+     */
+    public final class Cursor {
+        private int offset;
+        private int mask;
+        private int remaining; // Ticks que quedan del tramo actual
+
+        public boolean hasNext() {
+            return remaining > 0 || offset < input.length;
+        }
+
+        public int nextMask() {
+            if (remaining == 0) {
+                int b = input[offset++] & 0xFF;
+                mask = b >>> 4;
+                remaining = b & 0x0F;
+                if (remaining == SHORT_RUN) {
+                    int value = 0;
+                    int shift = 0;
+                    int v;
+                    do {
+                        v = input[offset++] & 0xFF;
+                        value |= (v & 0x7F) << shift;
+                        shift += 7;
+                    } while ((v & 0x80) != 0);
+                    remaining = value + SHORT_RUN;
+                }
+                // remaining cuenta ahora los ticks del tramo menos este
+            } else {
+                remaining--;
+            }
+            return mask;
+        }
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public long getLevelsHash() { return levelsHash; }
+    public Start getStart() { return start; }
+    public long getStartTick() { return start.levelTick; }
+    public int getStartLevel() { return start.level; }
+    public int getTickCount() { return tickCount; }
+    public int getEventCount() { return eventTicks.length; }
+    public int getEventTick(int i) { return eventTicks[i]; }
+    public EventType getEventType(int i) { return TYPES[eventTypes[i]]; }
+
+    public int countEvents(EventType type) {
+        int count = 0;
+        for (byte t : eventTypes) {
+            if (t == type.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Mismos eventos en los mismos ticks.
+     */
+    public boolean sameEvents(InputRecording other) {
+        return Arrays.equals(eventTicks, other.eventTicks) && Arrays.equals(eventTypes, other.eventTypes);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer events = ByteBuffer.allocate(eventTicks.length * 6);
+        int previous = 0;
+        for (int i = 0; i < eventTicks.length; i++) {
+            putVarint(events, eventTicks[i] - previous);
+            events.put(eventTypes[i]);
+            previous = eventTicks[i];
+        }
+        long[] coins = start.collectedCoins;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + coins.length * 8 + input.length + events.position())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int flags = (start.keyCollected ? KEY_COLLECTED : 0) | (start.doorsOpen ? DOORS_OPEN : 0);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(levelsHash).putLong(start.levelTick).putInt(start.level)
+                .putInt(start.deathCount).putFloat(start.playerX).putFloat(start.playerY).putInt(flags)
+                .putInt(coins.length).putInt(tickCount).putInt(input.length).putInt(eventTicks.length);
+        for (long word : coins) {
+            buffer.putLong(word);
+        }
+        buffer.put(input);
+        buffer.put(events.array(), 0, events.position());
+        return buffer.array();
+    }
+
+    public static InputRecording fromBytes(byte[] bytes) throws IOException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("No es una grabación de partida");
+            }
+            if (buffer.getInt() != VERSION) {
+                throw new IOException("Versión de grabación no soportada");
+            }
+            long levelsHash = buffer.getLong();
+            long levelTick = buffer.getLong();
+            int level = buffer.getInt();
+            int deathCount = buffer.getInt();
+            float playerX = buffer.getFloat();
+            float playerY = buffer.getFloat();
+            int flags = buffer.getInt();
+            int coinWords = buffer.getInt();
+            int tickCount = buffer.getInt();
+            int inputLength = buffer.getInt();
+            int eventCount = buffer.getInt();
+            // Antes de reservar nada: con una cabecera corrupta saldrían arrays enormes
+            if (coinWords < 0 || inputLength < 0 || eventCount < 0
+                    || coinWords * 8L + inputLength + eventCount * 2L > buffer.remaining()) {
+                throw new IOException("Grabación incompleta o corrupta");
+            }
+            long[] coins = new long[coinWords];
+            byte[] input = new byte[inputLength];
+            for (int i = 0; i < coins.length; i++) {
+                coins[i] = buffer.getLong();
+            }
+            buffer.get(input);
+            int[] eventTicks = new int[eventCount];
+            byte[] eventTypes = new byte[eventCount];
+            int tick = 0;
+            for (int i = 0; i < eventCount; i++) {
+                tick += getVarint(buffer);
+                eventTicks[i] = tick;
+                eventTypes[i] = buffer.get();
+                if (eventTypes[i] < 0 || eventTypes[i] >= TYPES.length) {
+                    throw new IOException("Tipo de evento desconocido: " + eventTypes[i]);
+                }
+            }
+            Start start = new Start(level, levelTick, deathCount, playerX, playerY, coins,
+                    (flags & KEY_COLLECTED) != 0, (flags & DOORS_OPEN) != 0);
+            return new InputRecording(levelsHash, start, tickCount, input, eventTicks, eventTypes);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Grabación incompleta o corrupta", e);
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        Files.write(path, toBytes());
+    }
+
+    public static InputRecording read(Path path) throws IOException {
+        return fromBytes(Files.readAllBytes(path));
+    }
+
+    /**
+     * El directorio de -Dgame.recordings (lo crea si hace falta), o null si no se pidió
+     * guardar grabaciones o no se puede crear.
+     */
+    static Path configuredDirectory() {
+        String path = System.getProperty(RECORDINGS_PROPERTY);
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        try {
+            return Files.createDirectories(Paths.get(path));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ticks desde el nivel %d%s | %d muertes, %d niveles completados | %d bytes",
+                tickCount, start.level + 1, start.levelTick > 0 ? " (tick " + start.levelTick + ")" : "", countEvents(EventType.PLAYER_DEATH),
+                countEvents(EventType.LEVEL_COMPLETE), toBytes().length);
+    }
+}
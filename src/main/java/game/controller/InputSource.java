@@ -0,0 +1,26 @@
+package game.controller;
+
+import game.model.GameModel;
+
+/**
+ * Fuente de entrada "guionizada" para el {@link Simulator}.
+ * En cada tick devuelve una máscara con las direcciones que el jugador mantiene pulsadas.
+ */
+@FunctionalInterface
+public interface InputSource {
+    int NONE = 0;
+    int UP = 1;
+    int DOWN = 1 << 1;
+    int LEFT = 1 << 2;
+    int RIGHT = 1 << 3;
+
+    // Fuente que nunca pulsa nada (útil para medir solo los obstáculos).
+    InputSource IDLE = (tick, model) -> NONE;
+
+    /**
+     * @param tick  El número de tick que se va a simular (empieza en 0).
+     * @param model El modelo, por si el guion quiere reaccionar al estado del juego.
+     * @return Combinación de UP, DOWN, LEFT y RIGHT.
+     */
+    int nextInput(long tick, GameModel model);
+}
@@ -0,0 +1,136 @@
+package game.controller;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import game.model.Config;
+import game.model.GameModel;
+import game.model.Level;
+import game.model.LevelLoader;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Reproduce una {@link InputRecording} sin interfaz y sin reloj, pasando cada máscara por
+ * {@link GameController#update()} como en la partida original, y comprueba que salen los
+ * mismos eventos (muertes, monedas, llaves y niveles completados) en los mismos ticks.
+ * Antes de empezar deja el nivel en el estado del que partió la grabación (ver
+ * {@link InputRecording.Start}), así que no hace falta que se grabara desde el principio.
+ */
+public class ReplayVerifier {
+
+    /**
+     * Resultado de reproducir una grabación.
+     */
+    public static final class Result {
+        private final InputRecording recording;
+        private final InputRecording replayed; // null si no se pudo reproducir
+        private final String problem;          // null si todo coincide
+        private final long nanos;
+
+        Result(InputRecording recording, InputRecording replayed, String problem, long nanos) {
+            this.recording = recording;
+            this.replayed = replayed;
+            this.problem = problem;
+            this.nanos = nanos;
+        }
+
+        public boolean matches() { return problem == null; }
+        public String getProblem() { return problem; }
+        public InputRecording getReplayed() { return replayed; }
+        public long getNanos() { return nanos; }
+
+        /**
+         * Cuántas veces más rápido que en tiempo real se ha reproducido.
+         */
+        public double getSpeedup() {
+            double seconds = nanos / 1e9;
+            return seconds > 0 ? recording.getTickCount() / (double) Config.TICKS_PER_SECOND / seconds : 0;
+        }
+
+        @Override
+        public String toString() {
+            return (matches() ? "OK" : "DISTINTA: " + problem) + " | " + recording
+                    + String.format(" | %.1f ms, x%.0f tiempo real", nanos / 1e6, getSpeedup());
+        }
+    }
+
+    /**
+     * Reproduce una grabación hecha con los niveles de {@link LevelLoader}.
+     */
+    public static Result verify(InputRecording recording) throws LevelLoadException {
+        long start = System.nanoTime();
+        GameModel model = new GameModel();
+        if (recording.getStartLevel() != model.getCurrentLevelIndex()) {
+            model.loadLevel(recording.getStartLevel());
+        }
+        return verify(recording, model, start);
+    }
+
+    /**
+     * Reproduce una grabación de un modelo creado con {@code new GameModel(level)}.
+     * @param level Un nivel nuevo igual al de la partida (se comprueba con el hash).
+     */
+    public static Result verify(InputRecording recording, Level level) throws LevelLoadException {
+        return verify(recording, new GameModel(level), System.nanoTime());
+    }
+
+    private static Result verify(InputRecording recording, GameModel model, long start) throws LevelLoadException {
+        long levelsHash = model.getLevelsHash();
+        if (recording.getLevelsHash() != 0 && recording.getLevelsHash() != levelsHash) {
+            return new Result(recording, null, String.format(
+                    "se grabó con otros niveles (hash %016x, ahora %016x)", recording.getLevelsHash(), levelsHash), 0);
+        }
+        recording.getStart().restore(model);
+        GameController controller = new GameController(model);
+        InputRecorder recorder = new InputRecorder(levelsHash, model);
+        model.getSubject().addObserver(recorder);
+
+        InputRecording.Cursor cursor = recording.cursor();
+        for (int i = 0; i < recording.getTickCount() && !model.isGameOver(); i++) {
+            int mask = cursor.nextMask();
+            recorder.record(mask);
+            if (model.getPlayer() != null) {
+                Simulator.applyInput(model.getPlayer(), mask);
+            }
+            controller.update();
+        }
+        long nanos = System.nanoTime() - start;
+        InputRecording replayed = recorder.toRecording();
+        return new Result(recording, replayed, firstDifference(recording, replayed), nanos);
+    }
+
+    private static String firstDifference(InputRecording expected, InputRecording actual) {
+        if (actual.getTickCount() != expected.getTickCount()) {
+            return "el juego terminó en el tick " + actual.getTickCount() + " de " + expected.getTickCount();
+        }
+        if (expected.sameEvents(actual)) {
+            return null;
+        }
+        int n = Math.min(expected.getEventCount(), actual.getEventCount());
+        for (int i = 0; i < n; i++) {
+            if (expected.getEventTick(i) != actual.getEventTick(i) || expected.getEventType(i) != actual.getEventType(i)) {
+                return String.format("evento %d: se esperaba %s en el tick %d y salió %s en el tick %d", i + 1,
+                        expected.getEventType(i), expected.getEventTick(i), actual.getEventType(i), actual.getEventTick(i));
+            }
+        }
+        return String.format("se esperaban %d eventos y salieron %d", expected.getEventCount(), actual.getEventCount());
+    }
+
+    /**
+     * Uso: {@code java game.controller.ReplayVerifier <grabación.whgrec>...}
+     * Reproduce cada grabación e imprime si coincide; sale con código 1 si alguna no coincide.
+     */
+    public static void main(String[] args) throws IOException, LevelLoadException {
+        if (args.length == 0) {
+            System.err.println("Uso: java game.controller.ReplayVerifier <grabación.whgrec>...");
+            System.exit(2);
+        }
+        boolean allMatch = true;
+        for (String arg : args) {
+            Result result = verify(InputRecording.read(Paths.get(arg)));
+            System.out.println(arg + ": " + result);
+            allMatch &= result.matches();
+        }
+        System.exit(allMatch ? 0 : 1);
+    }
+}
@@ -0,0 +1,291 @@
+package game.controller;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import game.model.Config;
+import game.model.GameModel;
+import game.model.exception.LevelLoadException;
+import game.utils.LatencyHistogram;
+
+/**
+ * Ejecuta muchas {@link GameSession} a la vez en un mismo proceso, cada una a
+ * {@link Config#TICKS_PER_SECOND} ticks por segundo.
+ * <p>
+ * Hay dos formas de repartir las sesiones en hilos:
+ * <ul>
+ * <li>{@link #withPlatformThreads}: un pool pequeño de hilos normales; cada sesión es una
+ * tarea periódica del pool.</li>
+ * <li>{@link #withVirtualThreads}: un hilo virtual por sesión con su propio bucle. Necesita
+ * Java 21 o superior; el proyecto compila para Java 17, así que se crean por reflexión.</li>
+ * <li>{@link #withTickScheduler}: un único reloj ({@link TickScheduler}) que avanza todas las
+ * sesiones a la vez en cada tick, repartidas en un ForkJoinPool.</li>
+ * </ul>
+ * Las sesiones que terminan el juego se quitan solas. Con -Dgame.recordings=directorio, la
+ * grabación de cada sesión ({@link InputRecording}) se guarda allí cuando termina o se para.
+ */
+public class SessionManager implements AutoCloseable {
+    // Ticks de retraso a partir de los cuales una sesión virtual deja de intentar recuperarlos
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final ScheduledExecutorService scheduler; // Solo con hilos de plataforma
+    private final ThreadFactory virtualThreads;       // Solo con hilos virtuales
+    private final TickScheduler ticker;                // Solo con el reloj central
+    private final long nanosPerTick = 1_000_000_000L / Config.TICKS_PER_SECOND;
+    private final Map<GameSession, Runnable> running = new ConcurrentHashMap<>(); // Sesión -> cómo pararla
+    private final Path recordings = InputRecording.configuredDirectory(); // null: no se guardan
+    // Precarga de niveles de las sesiones de este manager (solo los que aún no están parseados)
+    private final ExecutorService levelPrefetcher = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "session-level-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    private SessionManager(ScheduledExecutorService scheduler, ThreadFactory virtualThreads, int tickerParallelism) {
+        this.scheduler = scheduler;
+        this.virtualThreads = virtualThreads;
+        this.ticker = tickerParallelism > 0 ? new TickScheduler(tickerParallelism, this::finished) : null;
+        if (ticker != null) {
+            ticker.start();
+        }
+    }
+
+    public static SessionManager withPlatformThreads(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "session-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new SessionManager(scheduler, null, 0);
+    }
+
+    /**
+     * @throws UnsupportedOperationException Si esta JVM no tiene hilos virtuales.
+     */
+    public static SessionManager withVirtualThreads() {
+        ThreadFactory factory = virtualThreadFactory();
+        if (factory == null) {
+            throw new UnsupportedOperationException("Esta JVM no tiene hilos virtuales (hace falta Java 21+)");
+        }
+        return new SessionManager(null, factory, 0);
+    }
+
+    public static SessionManager withTickScheduler(int parallelism) {
+        return new SessionManager(null, null, parallelism);
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return virtualThreadFactory() != null;
+    }
+
+    // Thread.ofVirtual().name("session-v", 0).factory(), sin depender de la API de Java 21 al compilar
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, "session-v", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null; // Java 17-20, o hilos virtuales en preview sin activar
+        }
+    }
+
+    /**
+     * Crea una sesión nueva (desde el primer nivel) y la pone en marcha.
+     */
+    public GameSession open() throws LevelLoadException {
+        GameSession session = new GameSession(new GameModel(levelPrefetcher));
+        start(session);
+        return session;
+    }
+
+    public void start(GameSession session) {
+        if (closed) {
+            throw new IllegalStateException("El SessionManager está cerrado");
+        }
+        if (ticker != null) {
+            running.put(session, () -> ticker.remove(session));
+            ticker.add(session);
+        } else if (scheduler != null) {
+            // En el mapa antes de programarla: si termina en el primer tick, stop() ya la encuentra
+            AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+            running.put(session, () -> {
+                ScheduledFuture<?> scheduled = task.get();
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+            });
+            ScheduledFuture<?> scheduled = scheduler.scheduleAtFixedRate(() -> tickScheduled(session),
+                    0, nanosPerTick, TimeUnit.NANOSECONDS);
+            task.set(scheduled);
+            if (!running.containsKey(session)) {
+                scheduled.cancel(false); // Se paró antes de que hubiera tarea que cancelar
+            }
+        } else {
+            Thread thread = virtualThreads.newThread(() -> runLoop(session));
+            running.put(session, thread::interrupt);
+            thread.start();
+        }
+    }
+
+    /**
+     * Para la sesión. El tick que se esté ejecutando en ese momento termina normalmente.
+     */
+    public void stop(GameSession session) {
+        Runnable cancel = running.remove(session);
+        if (cancel != null) {
+            cancel.run();
+            saveRecording(session);
+        }
+    }
+
+    // Una sesión que ha terminado por su cuenta
+    private void finished(GameSession session) {
+        if (running.remove(session) != null) {
+            saveRecording(session);
+        }
+    }
+
+    private void saveRecording(GameSession session) {
+        if (recordings == null) {
+            return;
+        }
+        try {
+            session.saveRecording(recordings);
+        } catch (IOException e) {
+            e.printStackTrace(); // Sin grabación la partida sigue valiendo
+        }
+    }
+
+    private void tickScheduled(GameSession session) {
+        if (!running.containsKey(session)) {
+            return; // Parada, pero la tarea aún no se ha cancelado
+        }
+        try {
+            session.tick();
+        } catch (RuntimeException e) {
+            // Si la excepción saliera de aquí, el pool cancelaría la tarea sin avisar y la
+            // sesión se quedaría para siempre en 'running'
+            System.err.println("La sesión " + session.getId() + " ha fallado y se para:");
+            e.printStackTrace();
+            stop(session);
+            return;
+        }
+        if (session.isFinished()) {
+            stop(session);
+        }
+    }
+
+    // Bucle de una sesión en su hilo virtual: dormir un hilo virtual no ocupa un hilo del sistema
+    private void runLoop(GameSession session) {
+        long nextTick = System.nanoTime();
+        try {
+            while (!closed && !Thread.currentThread().isInterrupted() && !session.isFinished()) {
+                session.tick();
+                nextTick += nanosPerTick;
+                long sleep = nextTick - System.nanoTime();
+                if (sleep > 0) {
+                    LockSupport.parkNanos(sleep);
+                } else if (-sleep > MAX_CATCH_UP_TICKS * nanosPerTick) {
+                    nextTick = System.nanoTime(); // Demasiado retraso: se sigue desde ahora
+                }
+            }
+        } finally {
+            finished(session);
+        }
+    }
+
+    public int getActiveSessions() {
+        return running.size();
+    }
+
+    public List<GameSession> getSessions() {
+        return new ArrayList<>(running.keySet());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (GameSession session : running.keySet()) {
+            stop(session);
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (ticker != null) {
+            ticker.close();
+        }
+        levelPrefetcher.shutdownNow();
+    }
+
+    /**
+     * @return El reloj central, o null si las sesiones no van con {@link #withTickScheduler}.
+     */
+    public TickScheduler getTickScheduler() {
+        return ticker;
+    }
+
+    /**
+     * Uso: {@code java game.controller.SessionManager [sesiones] [segundos] [hilos|virtual|forkjoin[:hilos]]}
+     * Arranca muchas sesiones sin entrada durante un rato e imprime los ticks conseguidos
+     * y la memoria usada (con forkjoin, también lo que tarda cada tick y el reparto por hilo).
+     */
+    public static void main(String[] args) throws LevelLoadException, InterruptedException {
+        int sessions = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+        String mode = (args.length > 2) ? args[2] : Integer.toString(Runtime.getRuntime().availableProcessors());
+
+        try (SessionManager manager = "virtual".equals(mode) ? withVirtualThreads()
+                : mode.startsWith("forkjoin") ? withTickScheduler(mode.indexOf(':') > 0
+                        ? Integer.parseInt(mode.substring(mode.indexOf(':') + 1))
+                        : Runtime.getRuntime().availableProcessors())
+                : withPlatformThreads(Integer.parseInt(mode))) {
+            List<GameSession> opened = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                opened.add(manager.open());
+            }
+            // Se cuentan los ticks desde que están todas abiertas (abrirlas lleva su tiempo)
+            long ticks = -totalTicks(opened);
+            Thread.sleep(seconds * 1000L);
+            ticks += totalTicks(opened);
+            Runtime runtime = Runtime.getRuntime();
+            long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+            System.out.printf("%d sesiones (%s) | %.1f ticks/s por sesión (objetivo %d) | %d MB en uso%n",
+                    sessions, "virtual".equals(mode) ? "hilos virtuales" : mode.startsWith("forkjoin") ? mode : mode + " hilos",
+                    ticks / (double) sessions / seconds, Config.TICKS_PER_SECOND, usedMb);
+            TickScheduler ticker = manager.getTickScheduler();
+            if (ticker != null) {
+                LatencyHistogram tickTimes = ticker.getTickTimes();
+                System.out.printf("tick: p50 %.2f ms, p99 %.2f ms, máx %.2f ms | sesiones por hilo en el último tick: %s%n",
+                        tickTimes.getValueAtPercentile(50) / 1e6, tickTimes.getValueAtPercentile(99) / 1e6,
+                        tickTimes.getMax() / 1e6, Arrays.toString(ticker.getSessionsPerWorker()));
+            }
+        }
+    }
+
+    private static long totalTicks(List<GameSession> sessions) {
+        long ticks = 0;
+        for (GameSession session : sessions) {
+            ticks += session.getTick();
+        }
+        return ticks;
+    }
+}
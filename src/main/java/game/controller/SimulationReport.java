@@ -0,0 +1,41 @@
+package game.controller;
+
+/**
+ * Resultado de una ejecución del {@link Simulator}.
+ */
+public class SimulationReport {
+    private final long ticks;
+    private final long elapsedNanos;
+    private final int deathCount;
+    private final int levelIndex;
+    private final boolean gameOver;
+
+    public SimulationReport(long ticks, long elapsedNanos, int deathCount, int levelIndex, boolean gameOver) {
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.deathCount = deathCount;
+        this.levelIndex = levelIndex;
+        this.gameOver = gameOver;
+    }
+
+    public double getTicksPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return ticks * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ticks en %.1f ms (%.0f ticks/s) | Nivel: %d | Muertes: %d%s",
+                ticks, elapsedNanos / 1_000_000.0, getTicksPerSecond(), levelIndex + 1, deathCount,
+                gameOver ? " | Juego terminado" : "");
+    }
+
+    // Getters
+    public long getTicks() { return ticks; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public int getDeathCount() { return deathCount; }
+    public int getLevelIndex() { return levelIndex; }
+    public boolean isGameOver() { return gameOver; }
+}
@@ -0,0 +1,86 @@
+package game.controller;
+
+import game.model.GameModel;
+import game.model.Player;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Ejecuta la lógica del juego sin interfaz y sin reloj: cada tick se simula
+ * inmediatamente después del anterior (sin sleep, sin repaint, sin diálogos).
+ * Pensado para validar niveles de forma automática con millones de ticks.
+ */
+public class Simulator {
+    private final GameModel model;
+    private final GameController controller;
+    private final InputSource input;
+    private long tick;
+
+    public Simulator(InputSource input) throws LevelLoadException {
+        this(new GameModel(), input);
+    }
+
+    public Simulator(GameModel model, InputSource input) {
+        this.model = model;
+        this.controller = new GameController(model);
+        this.input = (input != null) ? input : InputSource.IDLE;
+        this.tick = 0;
+    }
+
+    /**
+     * Simula un único tick: aplica la entrada del guion y actualiza el juego.
+     */
+    public void step() {
+        Player player = model.getPlayer();
+        if (player != null) {
+            applyInput(player, input.nextInput(tick, model));
+        }
+        controller.update();
+        tick++;
+    }
+
+    /**
+     * Simula hasta {@code maxTicks} ticks, o hasta que el juego termine.
+     * @return Un resumen con los ticks simulados y los ticks por segundo conseguidos.
+     */
+    public SimulationReport run(long maxTicks) {
+        long startTick = tick;
+        long start = System.nanoTime();
+        while (tick - startTick < maxTicks && !model.isGameOver()) {
+            step();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new SimulationReport(tick - startTick, elapsed, model.getDeathCount(),
+                model.getCurrentLevelIndex(), model.isGameOver());
+    }
+
+    static void applyInput(Player player, int mask) {
+        player.setMovingUp((mask & InputSource.UP) != 0);
+        player.setMovingDown((mask & InputSource.DOWN) != 0);
+        player.setMovingLeft((mask & InputSource.LEFT) != 0);
+        player.setMovingRight((mask & InputSource.RIGHT) != 0);
+    }
+
+    // Lo contrario de applyInput: las direcciones en las que se mueve el jugador ahora
+    static int maskOf(Player player) {
+        if (player == null) {
+            return InputSource.NONE;
+        }
+        return (player.isMovingUp() ? InputSource.UP : 0)
+                | (player.isMovingDown() ? InputSource.DOWN : 0)
+                | (player.isMovingLeft() ? InputSource.LEFT : 0)
+                | (player.isMovingRight() ? InputSource.RIGHT : 0);
+    }
+
+    public GameModel getGameModel() { return model; }
+    public long getTick() { return tick; }
+
+    /**
+     * Uso: {@code java game.controller.Simulator [ticks]}
+     * Simula el juego sin entrada del jugador e imprime los ticks por segundo.
+     */
+    public static void main(String[] args) throws LevelLoadException {
+        long ticks = (args.length > 0) ? Long.parseLong(args[0]) : 1_000_000L;
+        Simulator simulator = new Simulator(InputSource.IDLE);
+        System.out.println(simulator.run(ticks));
+    }
+}
@@ -0,0 +1,243 @@
+package game.controller;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+import game.model.Config;
+import game.utils.LatencyHistogram;
+
+/**
+ * Reloj central para muchas {@link GameSession}: en cada tick avanza una vez todas las
+ * sesiones activas, repartidas en trozos sobre un {@link ForkJoinPool} (los hilos libres
+ * roban trozos a los ocupados, así que ninguna sesión se queda atrás).
+ * <p>
+ * El resultado no depende del número de hilos: cada sesión solo toca su propio modelo, y las
+ * sesiones que entran o salen (o terminan el juego) lo hacen siempre entre dos ticks, nunca
+ * a mitad de uno. Si el tick de una sesión lanza una excepción, esa sesión sale como si
+ * hubiera terminado y las demás siguen.
+ */
+public class TickScheduler implements AutoCloseable {
+    // Sesiones por trozo como mínimo: por debajo, repartir cuesta más que simular
+    private static final int MIN_CHUNK = 16;
+    // Trozos por hilo: unos cuantos de más para que haya qué robar si un hilo se retrasa
+    private static final int CHUNKS_PER_WORKER = 8;
+
+    private final ForkJoinPool pool;
+    private final Consumer<GameSession> onFinished; // Puede ser null
+    private final Set<GameSession> sessions = new LinkedHashSet<>(); // En orden de llegada; solo se toca en tick()
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>(); // Altas y bajas, en orden
+    private final Queue<GameSession> failed = new ConcurrentLinkedQueue<>(); // Las que fallaron en este tick
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final AtomicIntegerArray sessionsPerWorker;
+    private volatile int[] lastSessionsPerWorker;
+    private volatile long lastTickNanos;
+    private volatile int activeSessions;
+    private volatile long ticks; // Solo se escribe dentro de tick()
+
+    private ScheduledExecutorService clock;
+    private ScheduledFuture<?> clockTask;
+
+    public TickScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * @param onFinished Se llama (desde el hilo que ejecuta el tick) con cada sesión que
+     * termina el juego o cuyo tick ha lanzado una excepción, justo después de sacarla. Puede
+     * ser null.
+     */
+    public TickScheduler(int parallelism, Consumer<GameSession> onFinished) {
+        this.onFinished = onFinished;
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("tick-worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.sessionsPerWorker = new AtomicIntegerArray(parallelism);
+        this.lastSessionsPerWorker = new int[parallelism];
+    }
+
+    /**
+     * La sesión empieza a avanzar en el siguiente tick.
+     */
+    public void add(GameSession session) {
+        changes.add(new Change(session, true));
+    }
+
+    /**
+     * La sesión deja de avanzar a partir del siguiente tick.
+     */
+    public void remove(GameSession session) {
+        changes.add(new Change(session, false));
+    }
+
+    /**
+     * Arranca el reloj: un tick cada 1/{@link Config#TICKS_PER_SECOND} segundos. Si un tick
+     * tarda más de la cuenta, el siguiente empieza en cuanto acaba (sin solaparse).
+     */
+    public synchronized void start() {
+        if (clock != null) {
+            return;
+        }
+        clock = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "tick-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        clockTask = clock.scheduleAtFixedRate(this::clockTick, 0, 1_000_000_000L / Config.TICKS_PER_SECOND,
+                TimeUnit.NANOSECONDS);
+    }
+
+    // Una excepción que escapara cancelaría el reloj sin avisar (p. ej. desde onFinished)
+    private void clockTick() {
+        try {
+            tick();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Avanza un tick todas las sesiones activas y espera a que terminen. Lo llama el reloj de
+     * {@link #start()}, o directamente quien quiera llevar su propio ritmo (simulaciones, pruebas).
+     */
+    public synchronized void tick() {
+        long start = System.nanoTime();
+        applyMembershipChanges();
+
+        GameSession[] batch = sessions.toArray(new GameSession[0]);
+        if (batch.length > 0) {
+            int chunk = Math.max(MIN_CHUNK, batch.length / (pool.getParallelism() * CHUNKS_PER_WORKER));
+            pool.invoke(new Chunk(batch, 0, batch.length, chunk));
+        }
+
+        // Las que han terminado (o fallado) salen ya, en el mismo orden en que entraron
+        Set<GameSession> failedNow = failed.isEmpty() ? Set.of() : new HashSet<>(failed);
+        failed.clear();
+        List<GameSession> finished = new ArrayList<>();
+        sessions.removeIf(session -> (failedNow.contains(session) || session.isFinished()) && finished.add(session));
+        activeSessions = sessions.size();
+        if (onFinished != null) {
+            finished.forEach(onFinished);
+        }
+
+        int[] perWorker = new int[sessionsPerWorker.length()];
+        for (int i = 0; i < perWorker.length; i++) {
+            perWorker[i] = sessionsPerWorker.getAndSet(i, 0);
+        }
+        lastSessionsPerWorker = perWorker;
+        ticks++;
+        lastTickNanos = System.nanoTime() - start;
+        tickTimes.record(lastTickNanos);
+    }
+
+    // En el orden en que llegaron: quitar y volver a añadir la deja dentro
+    private void applyMembershipChanges() {
+        Change change;
+        while ((change = changes.poll()) != null) {
+            if (change.add) {
+                sessions.add(change.session);
+            } else {
+                sessions.remove(change.session);
+            }
+        }
+    }
+
+    private static final class Change {
+        final GameSession session;
+        final boolean add;
+
+        Change(GameSession session, boolean add) {
+            this.session = session;
+            this.add = add;
+        }
+    }
+
+    // Un rango de sesiones: si es grande se parte en dos y la mitad queda para robar
+    private final class Chunk extends RecursiveAction {
+        private final GameSession[] batch;
+        private final int from, to, threshold;
+
+        Chunk(GameSession[] batch, int from, int to, int threshold) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    tickSession(batch[i]);
+                }
+                countSessions(to - from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk(batch, from, middle, threshold), new Chunk(batch, middle, to, threshold));
+        }
+    }
+
+    // Si la excepción saliera de aquí, invoke() la relanzaría y el reloj se pararía sin avisar
+    private void tickSession(GameSession session) {
+        try {
+            session.tick();
+        } catch (RuntimeException e) {
+            System.err.println("La sesión " + session.getId() + " ha fallado y se para:");
+            e.printStackTrace();
+            failed.add(session);
+        }
+    }
+
+    private void countSessions(int count) {
+        Thread thread = Thread.currentThread();
+        // invoke() puede ejecutar algún trozo en el hilo que llama; se cuenta en el primer hilo
+        int worker = (thread instanceof ForkJoinWorkerThread) ? ((ForkJoinWorkerThread) thread).getPoolIndex() : 0;
+        sessionsPerWorker.addAndGet(Math.min(worker, sessionsPerWorker.length() - 1), count);
+    }
+
+    /**
+     * @return Cuánto tardó el último tick (en nanosegundos), de principio a fin.
+     */
+    public long getLastTickNanos() { return lastTickNanos; }
+
+    /**
+     * Duración de todos los ticks, para ver p99 y máximo con {@link LatencyHistogram}.
+     */
+    public LatencyHistogram getTickTimes() { return tickTimes; }
+
+    /**
+     * @return Cuántas sesiones avanzó cada hilo del pool en el último tick.
+     */
+    public int[] getSessionsPerWorker() { return lastSessionsPerWorker.clone(); }
+
+    public int getParallelism() { return pool.getParallelism(); }
+    public int getActiveSessions() { return activeSessions; }
+    public long getTicks() { return ticks; }
+
+    @Override
+    public synchronized void close() {
+        if (clock != null) {
+            clockTask.cancel(false);
+            clock.shutdownNow();
+            clock = null;
+        }
+        pool.shutdownNow();
+    }
+}
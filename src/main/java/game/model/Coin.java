@@ -2,41 +2,57 @@ package game.model;
 
 import java.awt.geom.Ellipse2D; // Podríamos usar círculos para las monedas
 
+/**
+ * Una moneda. Como {@link Obstacle}, es una referencia a una posición de un {@link CoinField}:
+ * al crearse tiene un campo propio y, cuando el nivel agrupa sus monedas, pasa a apuntar al del nivel.
+ */
 public class Coin {
-    private float x, y;
-    private final int radius; // Usaremos radio para dibujar círculos
-    private boolean collected;
+    private CoinField field;
+    private int index;
 
     public Coin(float x, float y, int radius) {
-        this.x = x;
-        this.y = y;
-        this.radius = radius;
-        this.collected = false; // Inicialmente no está recolectada
+        // Campo propio de una moneda; inicialmente no está recolectada
+        this.field = new CoinField(new float[] {x}, new float[] {y}, new int[] {radius});
+        this.index = 0;
+    }
+
+    // Referencia a una moneda que ya está en un CoinField (ver Level.getCoins)
+    Coin(CoinField field, int index) {
+        this.field = field;
+        this.index = index;
+    }
+
+    void bindTo(CoinField field, int index) {
+        this.field = field;
+        this.index = index;
     }
 
     public float getX() {
-        return x;
+        return field.x[index];
     }
 
     public float getY() {
-        return y;
+        return field.y[index];
     }
 
     public int getRadius() {
-        return radius;
+        return field.radius[index];
     }
 
     public boolean isCollected() {
-        return collected;
+        return field.isCollected(index);
     }
 
     public void setCollected(boolean collected) {
-        this.collected = collected;
+        field.setCollected(index, collected);
     }
 
     // Hitbox para la moneda (un círculo)
     public Ellipse2D getBounds() {
+        float x = getX();
+        float y = getY();
+        int radius = getRadius();
         return new Ellipse2D.Float(x - radius, y - radius, radius * 2, radius * 2);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package game.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Monedas de un nivel en arrays paralelos, como {@link ObstacleField} con los obstáculos.
+ * La geometría (x, y, radio) no cambia nunca y se comparte entre todas las copias de un
+ * mismo nivel; lo único propio de cada copia es qué monedas se han recogido, un bit por moneda.
+ */
+final class CoinField {
+    final float[] x;
+    final float[] y;
+    final int[] radius;
+    private final long[] collected;
+
+    CoinField(float[] x, float[] y, int[] radius) {
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+        this.collected = new long[(x.length + 63) >>> 6];
+    }
+
+    /**
+     * Crea un campo con las monedas dadas (y su estado actual) y las enlaza a él.
+     */
+    static CoinField bind(List<Coin> coins) {
+        int count = coins.size();
+        CoinField field = new CoinField(new float[count], new float[count], new int[count]);
+        for (int i = 0; i < count; i++) {
+            Coin coin = coins.get(i);
+            field.x[i] = coin.getX();
+            field.y[i] = coin.getY();
+            field.radius[i] = coin.getRadius();
+            field.setCollected(i, coin.isCollected());
+            coin.bindTo(field, i);
+        }
+        return field;
+    }
+
+    /**
+     * Copia sin ninguna moneda recogida que comparte la geometría con esta.
+     */
+    CoinField newInstance() {
+        return new CoinField(x, y, radius);
+    }
+
+    int size() {
+        return x.length;
+    }
+
+    boolean isCollected(int i) {
+        return (collected[i >>> 6] & (1L << i)) != 0;
+    }
+
+    void setCollected(int i, boolean value) {
+        if (value) {
+            collected[i >>> 6] |= 1L << i;
+        } else {
+            collected[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    int collectedCount() {
+        int total = 0;
+        for (long word : collected) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+
+    void clearCollected() {
+        Arrays.fill(collected, 0L);
+    }
+
+    // Qué monedas hay recogidas, un bit por moneda (para guardar y restaurar el estado)
+    long[] collectedBits() {
+        return collected.clone();
+    }
+
+    void setCollectedBits(long[] bits) {
+        clearCollected();
+        System.arraycopy(bits, 0, collected, 0, Math.min(bits.length, collected.length));
+    }
+}
@@ -38,6 +38,11 @@ public class Config {
     // Otros tamaños constantes que podrían ser útiles
     public static final int CHESSBOARD_TILE_SIZE = 30;
 
+    // Ticks de simulación por segundo (paso fijo del game loop)
+    public static final int TICKS_PER_SECOND = 60;
+    // FPS objetivo del renderizado activo (se puede cambiar con -Dgame.fps=N)
+    public static final int DEFAULT_TARGET_FPS = 60;
+
     // Magic Numbers 
     public static final int TILE_GROUND = 0;
     public static final int TILE_WALL = 1;
@@ -3,11 +3,23 @@ package game.model;
 import game.model.exception.LevelLoadException;
 import game.observer.EventType; 
 import game.observer.Subject;
+import game.utils.FrameTimings;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class GameModel {
+    // Hilo de fondo que prepara el siguiente nivel mientras se juega el actual. Es el de los
+    // modelos que no reciben uno propio (el juego de escritorio); se crea al usarlo por primera vez
+    private static ExecutorService defaultPrefetcher;
+
+    private final ExecutorService levelPrefetcher; // null: sin precarga
+    private final Long customLevelHash; // Hash del nivel propio de GameModel(Level); null con los de LevelLoader
 
     private Level currentLevel;
     private boolean isGameOver;
@@ -16,8 +28,24 @@ public class GameModel {
     private final int totalLevels; // final, se carga una vez
     private final Subject subject = new Subject(); // Instancia del Sujeto
     private ArrayList<Score> topTen = new ArrayList<>();
+    private Future<Level> prefetchedLevel; // Siguiente nivel cargándose en segundo plano
+    private int prefetchedLevelIndex = -1;
+    private long tick; // Ticks simulados desde que se creó el modelo
+    private long sessionId; // 0 en el juego de escritorio (ver GameSession)
+    private float eventPlayerX, eventPlayerY; // Dónde estaba el jugador en el último evento
+    private int eventLevelIndex; // Y en qué nivel (GAME_COMPLETE llega con el índice ya pasado del último)
 
     public GameModel() throws LevelLoadException {
+        this(defaultPrefetcher());
+    }
+
+    /**
+     * @param levelPrefetcher Dónde precargar el siguiente nivel (p. ej. un hilo por
+     *                        {@code SessionManager}), o null para cargarlo al cambiar de nivel.
+     */
+    public GameModel(ExecutorService levelPrefetcher) throws LevelLoadException {
+        this.levelPrefetcher = levelPrefetcher;
+        this.customLevelHash = null;
         this.currentLevelIndex = 0;
         this.deathCount = 0;
         this.isGameOver = false;
@@ -26,10 +54,28 @@ public class GameModel {
         loadLevel(currentLevelIndex);
     }
 
+    /**
+     * Crea un modelo que juega un único nivel ya construido (por ejemplo, un nivel
+     * generado para validación o benchmarks). Al completarlo, el juego termina.
+     */
+    public GameModel(Level level) {
+        this.levelPrefetcher = null;
+        // En su estado inicial: el hash es el de su plantilla, sin llegar a crearla
+        this.customLevelHash = LevelTemplate.hashOf(level);
+        this.currentLevelIndex = 0;
+        this.deathCount = 0;
+        this.isGameOver = false;
+        this.totalLevels = 1;
+        this.currentLevel = level;
+    }
+
     public void update() {
+        long start = FrameTimings.start();
+        tick++;
         if (!isGameOver && currentLevel != null) {
             currentLevel.update();
         }
+        FrameTimings.stop(FrameTimings.Phase.MODEL_UPDATE, start);
     }
     
     public void loadLevel(int levelIndex) throws LevelLoadException {
@@ -38,8 +84,69 @@ public class GameModel {
             this.currentLevel = null;
             return;
         }
-        this.currentLevel = LevelLoader.loadLevel(levelIndex);
+        Level level = takePrefetchedLevel(levelIndex);
+        this.currentLevel = (level != null) ? level : LevelLoader.loadLevel(levelIndex);
         this.currentLevelIndex = levelIndex;
+        prefetchLevel(levelIndex + 1);
+    }
+
+    /**
+     * Empieza a cargar un nivel en segundo plano para que el cambio de nivel no tenga
+     * que esperar a leerlo y precalcularlo en el hilo del juego. Si otra partida ya lo cargó
+     * (ver {@link LevelLoader#isTemplateLoaded}) no hace falta.
+     */
+    private void prefetchLevel(int levelIndex) {
+        if (levelPrefetcher == null || levelIndex >= totalLevels
+                || (prefetchedLevel != null && prefetchedLevelIndex == levelIndex)) {
+            return;
+        }
+        if (prefetchedLevel != null) {
+            prefetchedLevel.cancel(false);
+            prefetchedLevel = null;
+            prefetchedLevelIndex = -1;
+        }
+        if (LevelLoader.isTemplateLoaded(levelIndex)) {
+            return; // Ya parseado: cargarlo es copiar la plantilla, no merece la pena otro hilo
+        }
+        prefetchedLevelIndex = levelIndex;
+        prefetchedLevel = levelPrefetcher.submit(() -> LevelLoader.loadLevel(levelIndex));
+    }
+
+    private static synchronized ExecutorService defaultPrefetcher() {
+        if (defaultPrefetcher == null) {
+            defaultPrefetcher = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "level-prefetch");
+                thread.setDaemon(true); // No impide que la aplicación termine
+                return thread;
+            });
+        }
+        return defaultPrefetcher;
+    }
+
+    /**
+     * @return El nivel precargado si es el pedido y ya está listo; null si hay que cargarlo
+     * en el momento (no se precargó, aún no ha terminado o falló al cargarse).
+     */
+    private Level takePrefetchedLevel(int levelIndex) {
+        if (prefetchedLevel == null || prefetchedLevelIndex != levelIndex) {
+            return null;
+        }
+        Future<Level> prefetch = prefetchedLevel;
+        prefetchedLevel = null;
+        prefetchedLevelIndex = -1;
+        if (!prefetch.isDone()) {
+            prefetch.cancel(false);
+            return null;
+        }
+        try {
+            return prefetch.get();
+        } catch (ExecutionException | CancellationException e) {
+            // La carga síncrona volverá a lanzar el error con su LevelLoadException
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
     }
     
     public void resetPlayerPosition() {
@@ -53,7 +160,18 @@ public class GameModel {
 
     // --- MÉTODOS PARA MANEJAR EL ESTADO Y NOTIFICAR ---
 
+    // Se llama antes de cambiar nada, para que una muerte se registre donde ocurrió
+    private void recordEventPosition() {
+        eventLevelIndex = currentLevelIndex;
+        Player player = getPlayer();
+        if (player != null) {
+            eventPlayerX = player.getX();
+            eventPlayerY = player.getY();
+        }
+    }
+
     public void playerDied() {
+        recordEventPosition();
         deathCount++;
         if (currentLevel != null) {
             currentLevel.resetCoinsInLevel();
@@ -66,6 +184,7 @@ public class GameModel {
 
     public void collectCoin(Coin coin) {
         if (coin != null && !coin.isCollected()) {
+            recordEventPosition();
             coin.setCollected(true);
             // Notificar que una moneda fue recolectada
             subject.notifyObservers(this, EventType.COIN_COLLECTED);
@@ -75,6 +194,7 @@ public class GameModel {
     public void collectKey() {
         Key key = currentLevel.getKey();
         if (key != null && !key.isCollected()) {
+            recordEventPosition();
             key.setCollected(true);
             currentLevel.openDoors();
             // Notificar que la llave fue recolectada
@@ -83,6 +203,7 @@ public class GameModel {
     }
 
     public void completeLevel() throws LevelLoadException {
+        recordEventPosition(); // GAME_COMPLETE se queda también con esta posición
         // Notificar que el nivel se completó ANTES de cargar el siguiente
         subject.notifyObservers(this, EventType.LEVEL_COMPLETE);
         
@@ -109,6 +230,14 @@ public class GameModel {
         return topTen;
     }
 
+    /**
+     * Hash de los niveles con los que juega este modelo: {@link LevelLoader#getLevelsHash()}, o
+     * el del nivel propio si se creó con {@link #GameModel(Level)}.
+     */
+    public long getLevelsHash() throws LevelLoadException {
+        return customLevelHash != null ? customLevelHash : LevelLoader.getLevelsHash();
+    }
+
     public void setDeathCount(int deathCount) {
         this.deathCount = deathCount; // Permite reiniciar el contador de muertes
     }
@@ -123,4 +252,14 @@ public class GameModel {
     public int getTotalLevels() { return totalLevels; }
     public Player getPlayer() { return (currentLevel != null) ? currentLevel.getPlayer() : null; }
     public Subject getSubject() { return subject; }
+    public long getTick() { return tick; }
+    public long getSessionId() { return sessionId; }
+    public void setSessionId(long sessionId) { this.sessionId = sessionId; }
+    /**
+     * Posición del jugador cuando ocurrió el último evento notificado. En una muerte es dónde
+     * murió, no dónde reaparece.
+     */
+    public float getEventPlayerX() { return eventPlayerX; }
+    public float getEventPlayerY() { return eventPlayerY; }
+    public int getEventLevelIndex() { return eventLevelIndex; }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package game.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Niveles de un 'levels.json' leídos bajo demanda. Al abrirlo se hace una sola pasada en
+ * streaming (sin construir el árbol) que apunta en qué byte empieza y acaba cada elemento
+ * del array "levels". Después, cargar un nivel es leer solo sus bytes y parsear ese objeto,
+ * así que el documento completo nunca está en memoria.
+ */
+public class JsonLevelIndex implements LevelSource {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonFactory factory = mapper.getFactory();
+
+    private final String name; // Para los mensajes de error
+    private final String resource; // Ruta en el classpath, o null si es un fichero
+    private final Path file;
+    private final long[] starts;
+    private final long[] ends;
+    private volatile Long contentHash; // Se calcula la primera vez que se pide
+
+    private JsonLevelIndex(String name, String resource, Path file) throws LevelLoadException {
+        this.name = name;
+        this.resource = resource;
+        this.file = file;
+        try (InputStream is = open(); JsonParser parser = factory.createParser(is)) {
+            long[][] index = indexLevels(parser);
+            this.starts = index[0];
+            this.ends = index[1];
+        } catch (IOException e) {
+            throw new LevelLoadException("Error crítico al cargar '" + name + "'.", e);
+        }
+    }
+
+    /**
+     * Indexa un 'levels.json' del classpath (por ejemplo "/levels.json").
+     */
+    public static JsonLevelIndex fromResource(String resource) throws LevelLoadException {
+        String name = resource.substring(resource.lastIndexOf('/') + 1);
+        if (JsonLevelIndex.class.getResource(resource) == null) {
+            throw new LevelLoadException("El archivo '" + name + "' no se encontró en los recursos.");
+        }
+        return new JsonLevelIndex(name, resource, null);
+    }
+
+    public static JsonLevelIndex fromFile(Path file) throws LevelLoadException {
+        return new JsonLevelIndex(file.toString(), null, file);
+    }
+
+    // Recorre el documento token a token y guarda [inicio, fin) en bytes de cada nivel
+    private long[][] indexLevels(JsonParser parser) throws IOException, LevelLoadException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new LevelLoadException("'" + name + "' no es un objeto JSON.");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (!"levels".equals(field)) {
+                parser.skipChildren();
+                continue;
+            }
+            if (value != JsonToken.START_ARRAY) {
+                throw new LevelLoadException("En '" + name + "', \"levels\" no es un array.");
+            }
+            long[] levelStarts = new long[8];
+            long[] levelEnds = new long[8];
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (count == levelStarts.length) {
+                    levelStarts = Arrays.copyOf(levelStarts, count * 2);
+                    levelEnds = Arrays.copyOf(levelEnds, count * 2);
+                }
+                levelStarts[count] = parser.getTokenLocation().getByteOffset();
+                parser.skipChildren(); // Deja el parser en el '}' del nivel
+                levelEnds[count] = parser.getCurrentLocation().getByteOffset();
+                count++;
+            }
+            return new long[][] { Arrays.copyOf(levelStarts, count), Arrays.copyOf(levelEnds, count) };
+        }
+        throw new LevelLoadException("'" + name + "' no tiene el array \"levels\".");
+    }
+
+    @Override
+    public int getTotalLevels() {
+        return starts.length;
+    }
+
+    @Override
+    public Level loadLevel(int levelIndex) throws LevelLoadException {
+        return LevelLoader.parseLevel(getLevelNode(levelIndex));
+    }
+
+    /**
+     * Recorre el documento una vez (en bloques, sin parsearlo) y guarda el resultado.
+     */
+    @Override
+    public long contentHash() throws LevelLoadException {
+        Long hash = contentHash;
+        if (hash == null) {
+            long value = LevelTemplate.FNV_OFFSET;
+            try (InputStream is = open()) {
+                byte[] block = new byte[8192];
+                int read;
+                while ((read = is.read(block)) > 0) {
+                    value = LevelTemplate.mixBytes(value, ByteBuffer.wrap(block, 0, read));
+                }
+            } catch (IOException e) {
+                throw new LevelLoadException("No se pudo leer '" + name + "'.", e);
+            }
+            contentHash = hash = value;
+        }
+        return hash;
+    }
+
+    /**
+     * Parsea solo el nivel pedido (un elemento del array "levels").
+     */
+    public JsonNode getLevelNode(int levelIndex) throws LevelLoadException {
+        if (levelIndex < 0 || levelIndex >= starts.length) {
+            throw new LevelLoadException("Índice de nivel fuera de rango: " + levelIndex);
+        }
+        try {
+            return mapper.readTree(readLevelBytes(levelIndex));
+        } catch (IOException e) {
+            throw new LevelLoadException("No se pudo leer el nivel " + levelIndex + " de '" + name + "'.", e);
+        }
+    }
+
+    private byte[] readLevelBytes(int levelIndex) throws IOException {
+        long start = starts[levelIndex];
+        int length = (int) (ends[levelIndex] - start);
+        if (file != null) {
+            // En un fichero se salta directamente al offset
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer bytes = ByteBuffer.allocate(length);
+                while (bytes.hasRemaining()) {
+                    if (channel.read(bytes, start + bytes.position()) < 0) {
+                        throw truncated(levelIndex);
+                    }
+                }
+                return bytes.array();
+            }
+        }
+        // Un recurso del classpath solo se puede leer en orden: se descartan los bytes anteriores
+        try (InputStream is = open()) {
+            is.skipNBytes(start);
+            byte[] bytes = is.readNBytes(length);
+            if (bytes.length < length) {
+                throw truncated(levelIndex);
+            }
+            return bytes;
+        }
+    }
+
+    // Sin esto se parsearía un nivel cortado (o relleno de ceros) y el error de Jackson despistaría
+    private EOFException truncated(int levelIndex) {
+        return new EOFException("'" + name + "' es más corto que cuando se indexó: falta parte del nivel " + levelIndex);
+    }
+
+    private InputStream open() throws IOException {
+        if (file != null) {
+            return Files.newInputStream(file);
+        }
+        InputStream is = JsonLevelIndex.class.getResourceAsStream(resource);
+        if (is == null) {
+            throw new IOException("El archivo '" + name + "' no se encontró en los recursos.");
+        }
+        return is;
+    }
+}
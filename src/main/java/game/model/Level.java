@@ -3,17 +3,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Level {
+    // A partir de cuántos obstáculos compensa mantener la rejilla de colisiones
+    // en vez de probar al jugador contra todos.
+    public static final int OBSTACLE_GRID_THRESHOLD = 64;
+    // Celdas más pequeñas obligan a recolocar obstáculos casi cada tick
+    public static final int OBSTACLE_GRID_MIN_CELL_SIZE = 64;
+
     private Player player; // Jugador
     public float initialPlayerX;
     public float initialPlayerY;
-    private ArrayList<Obstacle> obstacles; // Lista de obstáculos
+    private ArrayList<Obstacle> obstacles; // Lista de obstáculos (se crea al pedirla)
+    private ObstacleField obstacleField; // Estado de los obstáculos en arrays paralelos
+    private ObstacleGrid obstacleGrid; // Rejilla para las colisiones (solo con muchos obstáculos)
+    private boolean obstacleGridStale;
     private Goal goal; // Meta
-    private ArrayList<Coin> coins;
-    private int[][] tileMap; // Cuadrícula del mapa
+    private CoinField coinField; // Monedas en arrays, con un bit por moneda recogida
+    private ArrayList<Coin> coins; // Referencias a coinField (se crean al pedirlas)
+    private int[][] tileMap; // Cuadrícula del mapa (para dibujar)
+    private TileMask tileMask; // La misma cuadrícula en bits, para las colisiones
+    private long[] solidTiles; // Máscara activa: paredes, más las puertas si están cerradas
     private int tileSize; // Tamaño de cada celda
     private int windowWidth, windowHeight; // Límites de la ventana
     private Key key;
     private boolean doorsAreOpen;
+    private long tick; // Ticks desde el inicio del nivel
 
     // Constructor
     public Level(int windowWidth, int windowHeight) {
@@ -21,15 +34,16 @@ public class Level {
         this.windowHeight = windowHeight;
         this.obstacles = new ArrayList<>();
         this.coins = new ArrayList<>();
+        this.coinField = CoinField.bind(coins);
         this.doorsAreOpen = false; 
     }
 
     // Actualizar elementos móviles
     public void update() {
-        if (obstacles != null) {
-            for (Obstacle obstacle : obstacles) {
-                obstacle.update(tileMap, tileSize);
-            }
+        tick++;
+        if (obstacleField != null) {
+            obstacleField.update(tileMap, tileSize);
+            obstacleGridStale = true;
         }
         if (player != null) {
             player.update(this);
@@ -38,15 +52,8 @@ public class Level {
 
     // Verificar si el jugador ha recogido todas las monedas
     public boolean areAllCoinsCollectedInLevel() {
-        if (this.coins == null || this.coins.isEmpty()) {
-            return true; // No hay monedas para recolectar, condición cumplida.
-        }
-        for (Coin coin : this.coins) {
-            if (!coin.isCollected()) {
-                return false; // Se encontró al menos una moneda no recolectada.
-            }
-        }
-        return true; // Todas las monedas han sido recolectadas.
+        // Sin monedas la condición se cumple sola
+        return coinField.collectedCount() == coinField.size();
     }
 
     /**
@@ -54,16 +61,7 @@ public class Level {
      * @return El número de monedas recolectadas.
      */
     public int getNumberOfCurrentlyCollectedCoinsInLevel() {
-        if (this.coins == null || this.coins.isEmpty()) {
-            return 0;
-        }
-        int count = 0;
-        for (Coin coin : this.coins) {
-            if (coin.isCollected()) {
-                count++;
-            }
-        }
-        return count;
+        return coinField.collectedCount();
     }
 
     /**
@@ -71,10 +69,7 @@ public class Level {
      * @return El total de monedas en el nivel.
      */
     public int getTotalCoinsInLevel() {
-        if (this.coins == null) {
-            return 0;
-        }
-        return this.coins.size();
+        return coinField.size();
     }
 
     /**
@@ -82,15 +77,12 @@ public class Level {
      * Esto se usará cuando el jugador muera.
      */
     public void resetCoinsInLevel() {
-        if (this.coins != null) {
-            for (Coin coin : this.coins) {
-                coin.setCollected(false);
-            }
-        }
+        coinField.clearCollected();
         if (this.key != null) {
             this.key.setCollected(false); // <-- REINICIAR LA LLAVE
         }
         this.doorsAreOpen = false;
+        updateSolidTiles();
     }
 
     // ELIMINA O REEMPLAZA el método que usa 'Rectangle' por este:
@@ -103,38 +95,102 @@ public class Level {
      * @return true si hay colisión, false en caso contrario.
      */
     public boolean isCollidingWithWall(float x, float y, int width, int height) {
-        if (tileMap == null) return false;
+        if (tileMask == null) return false;
 
         // Calcula el rango de tiles que el rectángulo podría tocar
+        // (TileMask.any se encarga de no salirse de los límites del mapa)
         int minCol = (int) (x / tileSize);
         int maxCol = (int) ((x + width - 1) / tileSize);
         int minRow = (int) (y / tileSize);
         int maxRow = (int) ((y + height - 1) / tileSize);
 
-        // Se asegura de no salirse de los límites del mapa
-        minCol = Math.max(0, minCol);
-        maxCol = Math.min(tileMap[0].length - 1, maxCol);
-        minRow = Math.max(0, minRow);
-        maxRow = Math.min(tileMap.length - 1, maxRow);
-
-        for (int i = minRow; i <= maxRow; i++) {
-            for (int j = minCol; j <= maxCol; j++) {
-                int tileType = tileMap[i][j];
-                // Si el tile es una pared, o una puerta cerrada, hay colisión.
-                if (tileType == Config.TILE_WALL || (tileType == Config.TILE_DOOR && !this.doorsAreOpen)) {
-                    // Como los tiles son rectángulos alineados, si el bounding box del objeto
-                    // está en este tile, consideramos que hay una colisión potencial.
-                    // Para mayor precisión, podríamos verificar la intersección de rectángulos aquí,
-                    // pero para un juego basado en tiles esto es suficiente y más eficiente.
-                    return true;
-                }
+        // Si algún tile del rango es una pared, o una puerta cerrada, hay colisión.
+        return tileMask.any(solidTiles, minCol, maxCol, minRow, maxRow);
+    }
+
+    /**
+     * Precalcula el movimiento periódico de los obstáculos (ver ObstacleField.precomputeMotion).
+     * Se llama al cargar el nivel, una vez fijados el tileMap y los obstáculos.
+     */
+    public void precomputeObstacleMotion() {
+        if (obstacleField != null) {
+            obstacleField.precomputeMotion(tileMap, tileSize);
+        }
+    }
+
+    /**
+     * Lleva los obstáculos al estado que tendrían tras {@code tick} ticks desde el inicio del nivel,
+     * sin simular los ticks intermedios (para repeticiones y herramientas).
+     */
+    public void seekObstacles(long tick) {
+        if (obstacleField != null) {
+            obstacleField.seek(tick, tileMap, tileSize);
+            obstacleGridStale = true;
+        }
+    }
+
+    /**
+     * Lleva un nivel recién cargado al estado de otro que ya llevaba {@code tick} ticks (para
+     * reproducir una grabación que no empezó al principio del nivel): obstáculos, jugador,
+     * monedas recogidas (ver {@link #getCollectedCoins()}), llave y puertas.
+     */
+    public void seek(long tick, float playerX, float playerY, long[] collectedCoins, boolean keyCollected,
+            boolean doorsOpen) {
+        if (obstacleField != null && !obstacleField.isMotionPrecomputed()) {
+            precomputeObstacleMotion(); // Aún en su estado inicial, que es de donde parte
+        }
+        seekObstacles(tick);
+        this.tick = tick;
+        if (player != null) {
+            player.setPosition(playerX, playerY);
+        }
+        coinField.setCollectedBits(collectedCoins);
+        if (key != null) {
+            key.setCollected(keyCollected);
+        }
+        this.doorsAreOpen = doorsOpen;
+        updateSolidTiles();
+    }
+
+    /**
+     * Busca un obstáculo que toque el rectángulo dado (normalmente el jugador).
+     * Con muchos obstáculos consulta solo las celdas de la rejilla que toca el rectángulo.
+     * @return El índice del obstáculo en el ObstacleField, o -1 si ninguno lo toca.
+     */
+    public int findObstacleTouching(float x, float y, int size) {
+        if (obstacleGrid != null) {
+            // La rejilla se pone al día solo cuando se consulta, una vez por tick como mucho
+            if (obstacleGridStale) {
+                obstacleGrid.update();
+                obstacleGridStale = false;
             }
+            return obstacleGrid.firstIntersecting(x, y, size);
+        }
+        if (obstacleField != null) {
+            return obstacleField.firstIntersecting(x, y, size);
+        }
+        return -1;
+    }
+
+    private void rebuildObstacleGrid() {
+        if (obstacleField != null && tileSize > 0 && obstacleField.size() >= OBSTACLE_GRID_THRESHOLD) {
+            obstacleGrid = new ObstacleGrid(obstacleField, Math.max(tileSize, OBSTACLE_GRID_MIN_CELL_SIZE), windowWidth, windowHeight);
+            obstacleGridStale = false;
+        } else {
+            obstacleGrid = null;
         }
-        return false;
     }
 
     public void openDoors() {
         this.doorsAreOpen = true;
+        updateSolidTiles();
+    }
+
+    // Abrir o cerrar las puertas solo cambia qué máscara se consulta
+    private void updateSolidTiles() {
+        if (tileMask != null) {
+            solidTiles = doorsAreOpen ? tileMask.getWalls() : tileMask.getWallsAndDoors();
+        }
     }
 
     public boolean areDoorsOpen() {
@@ -143,22 +199,93 @@ public class Level {
 
     // Getters 
     public Player getPlayer() { return player; }
-    public ArrayList<Obstacle> getObstacles() { return obstacles; }
+    public ArrayList<Obstacle> getObstacles() {
+        if (obstacles == null) {
+            obstacles = new ArrayList<>(obstacleField.size());
+            for (int i = 0; i < obstacleField.size(); i++) {
+                obstacles.add(new Obstacle(obstacleField, i));
+            }
+        }
+        return obstacles;
+    }
+    public ObstacleField getObstacleField() { return obstacleField; }
+    CoinField getCoinField() { return coinField; }
     public Goal getGoal() { return goal; }
-    public ArrayList<Coin> getCoins() { return coins; }
+    public ArrayList<Coin> getCoins() {
+        if (coins == null) {
+            coins = new ArrayList<>(coinField.size());
+            for (int i = 0; i < coinField.size(); i++) {
+                coins.add(new Coin(coinField, i));
+            }
+        }
+        return coins;
+    }
     public int[][] getTileMap() { return tileMap; }
+    public TileMask getTileMask() { return tileMask; }
     public int getTileSize() { return tileSize; }
     public int getWindowWidth() { return windowWidth; }
     public int getWindowHeight() { return windowHeight; }
     public float getInitialPlayerX() { return initialPlayerX; }
     public float getInitialPlayerY() { return initialPlayerY; }
+    public long getTick() { return tick; }
+    public long[] getCollectedCoins() { return coinField.collectedBits(); } // Copia, un bit por moneda
 
     // Setters 
     public void setPlayer(Player player) { this.player = player; }
     public void setGoal(Goal goal) { this.goal = goal; }
-    public void setCoins(List<Coin> coins) { this.coins = new ArrayList<>(coins); }
-    public void setObstacles(List<Obstacle> obstacles) { this.obstacles = new ArrayList<>(obstacles); }
-    public void setTileMap(int[][] tileMap, int tileSize) { this.tileMap = tileMap; this.tileSize = tileSize; }
+    public void setCoins(List<Coin> coins) {
+        this.coins = new ArrayList<>(coins);
+        this.coinField = CoinField.bind(this.coins);
+    }
+    public void setObstacles(List<Obstacle> obstacles) {
+        this.obstacles = new ArrayList<>(obstacles);
+        useObstacleField(ObstacleField.bind(this.obstacles));
+    }
+    /**
+     * Usa un ObstacleField ya relleno (por ejemplo, leído de un LevelPack) sin pasar por
+     * objetos Obstacle intermedios; los Obstacle del nivel pasan a ser referencias a él.
+     */
+    void setObstacleField(ObstacleField field) {
+        this.obstacles = null;
+        useObstacleField(field);
+    }
+
+    /**
+     * Estado de una copia nueva de un {@link LevelTemplate}: monedas, obstáculos y mapa
+     * comparten con la plantilla todo lo que no cambia (el mapa y su máscara ya compilada,
+     * tal cual). Las referencias Coin y Obstacle solo se crean si alguien las pide.
+     */
+    void useTemplateState(CoinField coinField, ObstacleField obstacleField, int[][] tileMap, int tileSize, TileMask tileMask) {
+        this.coinField = coinField;
+        this.coins = null;
+        this.tileMap = tileMap;
+        this.tileSize = tileSize;
+        this.tileMask = tileMask;
+        this.solidTiles = null;
+        updateSolidTiles();
+        if (obstacleField != null) {
+            this.obstacles = null;
+            useObstacleField(obstacleField);
+        }
+    }
+    private void useObstacleField(ObstacleField field) {
+        this.obstacleField = field;
+        if (tileMask != null) {
+            obstacleField.useTileMask(tileMask);
+        }
+        rebuildObstacleGrid();
+    }
+    public void setTileMap(int[][] tileMap, int tileSize) {
+        this.tileMap = tileMap;
+        this.tileSize = tileSize;
+        this.tileMask = tileMap == null ? null : TileMask.compile(tileMap, tileSize);
+        this.solidTiles = null;
+        updateSolidTiles();
+        if (obstacleField != null && tileMask != null) {
+            obstacleField.useTileMask(tileMask);
+        }
+        rebuildObstacleGrid();
+    }
 
     // Getters y Setters para la llave
     public Key getKey() {
@@ -1,46 +1,102 @@
 package game.model;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import game.model.exception.LevelLoadException;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.awt.Rectangle;
-import java.io.IOException; 
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LevelLoader {
-    private static final ObjectMapper mapper = new ObjectMapper();
-    private static JsonNode rootNode = null; // Para cachear el JSON
-
-    // Metodo privado para inicializar y obtener rootNode
-    private static JsonNode getRootNode() throws LevelLoadException {
-        if (rootNode == null) {
-            try {
-                InputStream is = LevelLoader.class.getResourceAsStream("/levels.json");
-                if (is == null) {
-                    throw new LevelLoadException("El archivo 'levels.json' no se encontró en los recursos.");
-                }
-                rootNode = mapper.readTree(is);
-            } catch (IOException e) {
-                throw new LevelLoadException("Error crítico al cargar 'levels.json'.", e);
+    // Propiedad del sistema con la ruta de un paquete '.lvlbin' a usar en vez de 'levels.json'
+    public static final String LEVEL_PACK_PROPERTY = "game.levels";
+    private static final String LEVELS_RESOURCE = "/levels.json";
+
+    private static JsonLevelIndex jsonLevels; // Índice de 'levels.json' (se crea al usarse)
+    private static LevelSource levelSource; // null: 'levels.json' de los recursos
+    private static boolean levelSourceResolved;
+    // Plantilla de cada nivel ya cargado: todas las partidas comparten su parte inmutable
+    private static final Map<Integer, LevelTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Cambia de dónde se cargan los niveles (por ejemplo, un {@link LevelPack}).
+     * Con null se vuelve a 'levels.json'.
+     */
+    public static synchronized void setLevelSource(LevelSource source) {
+        levelSource = source;
+        levelSourceResolved = true;
+        templates.clear();
+    }
+
+    // La primera vez mira si se pidió un paquete binario con -Dgame.levels=ruta.lvlbin
+    private static synchronized LevelSource getLevelSource() throws LevelLoadException {
+        if (!levelSourceResolved) {
+            String packPath = System.getProperty(LEVEL_PACK_PROPERTY);
+            if (packPath != null && !packPath.isEmpty()) {
+                levelSource = LevelPack.open(Paths.get(packPath));
             }
+            levelSourceResolved = true;
+        }
+        return levelSource != null ? levelSource : getJsonLevels();
+    }
+
+    // Solo se indexa dónde empieza cada nivel; el árbol completo nunca se construye
+    private static synchronized JsonLevelIndex getJsonLevels() throws LevelLoadException {
+        if (jsonLevels == null) {
+            jsonLevels = JsonLevelIndex.fromResource(LEVELS_RESOURCE);
         }
-        return rootNode;
+        return jsonLevels;
     }
 
+    /**
+     * Un nivel nuevo en su estado inicial. Solo la primera vez se lee de la fuente; las
+     * siguientes se copia el estado mutable de su {@link LevelTemplate}.
+     */
     public static Level loadLevel(int levelIndex) throws LevelLoadException {
-        try {
-            JsonNode root = getRootNode(); // getRootNode también debe lanzar la excepción
-            if (root == null || levelIndex >= root.get("levels").size() || levelIndex < 0) {
-                // Lanza una excepción en lugar de devolver null para un índice inválido
-                throw new LevelLoadException("Índice de nivel fuera de rango: " + levelIndex);
+        return getTemplate(levelIndex).newLevel();
+    }
+
+    public static LevelTemplate getTemplate(int levelIndex) throws LevelLoadException {
+        LevelTemplate template = templates.get(levelIndex);
+        if (template == null) {
+            // Si dos hilos lo cargan a la vez se queda la primera plantilla
+            LevelTemplate loaded = LevelTemplate.of(loadFromSource(levelIndex));
+            template = templates.putIfAbsent(levelIndex, loaded);
+            if (template == null) {
+                template = loaded;
             }
+        }
+        return template;
+    }
 
-            JsonNode levelNode = root.get("levels").get(levelIndex);
+    /**
+     * @return true si el nivel ya está parseado: {@link #loadLevel} solo tiene que copiar el
+     * estado de su plantilla, sin leer ni precalcular nada.
+     */
+    public static boolean isTemplateLoaded(int levelIndex) {
+        return templates.containsKey(levelIndex);
+    }
 
+    private static Level loadFromSource(int levelIndex) throws LevelLoadException {
+        LevelSource source = getLevelSource();
+        try {
+            return source.loadLevel(levelIndex);
+        } catch (LevelLoadException e) {
+            throw e;
+        } catch (Exception e) {
+            // Error genérico para cualquier otro problema (ej. JSON mal formado)
+            throw new LevelLoadException("No se pudo parsear o cargar el nivel " + levelIndex, e);
+        }
+    }
+
+    /**
+     * Construye un nivel a partir de su nodo JSON (un elemento del array "levels").
+     * Se usa también para niveles generados que no vienen de 'levels.json'.
+     */
+    public static Level parseLevel(JsonNode levelNode) throws LevelLoadException {
+        try {
             // Crear nivel con dimensiones de ventana
             Level level = new Level(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT);
 
@@ -78,21 +134,25 @@ public class LevelLoader {
                         keyNode.get("height").intValue()));
             }
 
-            // Cargar obstáculos
-            List<Obstacle> obstacles = new ArrayList<>();
-            for (JsonNode obstacleNode : levelNode.get("obstacles")) {
-                List<Rectangle> customBarriers = new ArrayList<>(); // Siempre crea la lista
+            // Cargar obstáculos: directamente en el ObstacleField del nivel, sin objetos Obstacle intermedios
+            JsonNode obstacleNodes = levelNode.get("obstacles");
+            ObstacleField obstacles = new ObstacleField(obstacleNodes.size());
+            for (int i = 0; i < obstacleNodes.size(); i++) {
+                JsonNode obstacleNode = obstacleNodes.get(i);
+                int[] barriers = null; // Barreras aplanadas {x, y, width, height} (puede no haber)
                 if (obstacleNode.has("customBounceBarriers")) {
-                    for (JsonNode barrierNode : obstacleNode.get("customBounceBarriers")) {
-                        customBarriers.add(new Rectangle(
-                                barrierNode.get("x").intValue(),
-                                barrierNode.get("y").intValue(),
-                                barrierNode.get("width").intValue(),
-                                barrierNode.get("height").intValue()));
+                    JsonNode barrierNodes = obstacleNode.get("customBounceBarriers");
+                    barriers = new int[barrierNodes.size() * 4];
+                    for (int b = 0; b < barrierNodes.size(); b++) {
+                        JsonNode barrierNode = barrierNodes.get(b);
+                        barriers[b * 4] = barrierNode.get("x").intValue();
+                        barriers[b * 4 + 1] = barrierNode.get("y").intValue();
+                        barriers[b * 4 + 2] = barrierNode.get("width").intValue();
+                        barriers[b * 4 + 3] = barrierNode.get("height").intValue();
                     }
                 }
 
-                obstacles.add(new Obstacle( // Llama al constructor con la lista de barreras (puede estar vacía)
+                obstacles.set(i,
                         obstacleNode.get("x").floatValue(),
                         obstacleNode.get("y").floatValue(),
                         obstacleNode.get("radius").intValue(),
@@ -100,9 +160,9 @@ public class LevelLoader {
                         obstacleNode.get("horizontal").booleanValue(),
                         Config.WINDOW_WIDTH, // Asumiendo que tienes una clase Config con estas constantes
                         Config.WINDOW_HEIGHT,
-                        customBarriers));
+                        barriers);
             }
-            level.setObstacles(obstacles);
+            level.setObstacleField(obstacles);
 
             // Cargar monedas
             List<Coin> coins = new ArrayList<>();
@@ -131,34 +191,41 @@ public class LevelLoader {
                 level.setTileMap(tileMap, tileSize);
             }
 
+            // Con paredes y obstáculos ya fijados, el movimiento de los obstáculos es periódico
+            level.precomputeObstacleMotion();
+
             return level;
 
         } catch (Exception e) {
-            // Error genérico para cualquier otro problema (ej. JSON mal formado)
-            throw new LevelLoadException("No se pudo parsear o cargar el nivel " + levelIndex, e);
+            throw new LevelLoadException("No se pudo parsear el nivel.", e);
         }
     }
 
     // Método para obtener los datos de un nivel específico
     public static JsonNode getLevelData(int levelIndex) {
         try {
-            if (rootNode == null) {
-                InputStream is = LevelLoader.class.getResourceAsStream("/levels.json");
-                rootNode = mapper.readTree(is);
-            }
-            return rootNode.get("levels").get(levelIndex);
+            return getJsonLevels().getLevelNode(levelIndex);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
         }
     }
 
+    /**
+     * Hash de la fuente de niveles actual (ver {@link LevelSource#contentHash()}). No carga
+     * ningún nivel.
+     */
+    public static long getLevelsHash() throws LevelLoadException {
+        return getLevelSource().contentHash();
+    }
+
     public static int getTotalLevels() throws LevelLoadException {
         try {
-            JsonNode root = getRootNode();
-            return root.get("levels").size();
+            return getLevelSource().getTotalLevels();
+        } catch (LevelLoadException e) {
+            throw e;
         } catch (Exception e) {
             throw new LevelLoadException("No se pudo determinar el número total de niveles.", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,187 @@
+package game.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Niveles compilados a un fichero binario '.lvlbin' (ver {@link LevelPackCompiler}).
+ * El fichero se proyecta en memoria (mmap) y cada nivel se construye leyendo primitivas
+ * directamente del buffer, sin árbol JSON ni conversiones de nodos.
+ *
+ * Formato (little-endian):
+ * <pre>
+ * cabecera: int MAGIC, int VERSION, int numNiveles, long[numNiveles] offset de cada nivel
+ * nivel:    jugador  float x, float y, int size, float speed
+ *           meta     float x, float y, int width, int height
+ *           llave    int existe, float x, float y, int width, int height
+ *           tiles    int tileSize, int filas, int columnas, byte[filas*columnas], relleno hasta 4 bytes
+ *           obstáculos int n, float[n] x, float[n] y, int[n] radius, float[n] speed,
+ *                    int[n] horizontal (0/1), int[n] numBarreras, int[4 * total] {x, y, width, height}
+ *           monedas  int n, float[n] x, float[n] y, int[n] radius
+ * </pre>
+ * Un nivel sin tileMap se guarda con 0 filas.
+ */
+public class LevelPack implements LevelSource {
+    public static final int MAGIC = 0x424C564C; // "LVLB" en little-endian
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".lvlbin";
+
+    private final ByteBuffer buffer;
+    private final long[] offsets;
+
+    private LevelPack(ByteBuffer buffer) throws LevelLoadException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 12 || buffer.getInt(0) != MAGIC) {
+            throw new LevelLoadException("El fichero no es un paquete de niveles " + EXTENSION + ".");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new LevelLoadException("Versión de paquete de niveles no soportada: " + version);
+        }
+        int levelCount = buffer.getInt(8);
+        this.offsets = new long[levelCount];
+        for (int i = 0; i < levelCount; i++) {
+            offsets[i] = buffer.getLong(12 + i * 8);
+        }
+    }
+
+    /**
+     * Proyecta en memoria un fichero '.lvlbin'. El mapeo sigue vivo aunque se cierre el canal.
+     */
+    public static LevelPack open(Path file) throws LevelLoadException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LevelPack(mapped);
+        } catch (IOException e) {
+            throw new LevelLoadException("No se pudo abrir el paquete de niveles '" + file + "'.", e);
+        }
+    }
+
+    /**
+     * Lee un paquete que ya está en memoria (por ejemplo, desde los recursos).
+     */
+    public static LevelPack wrap(ByteBuffer buffer) throws LevelLoadException {
+        return new LevelPack(buffer.duplicate());
+    }
+
+    @Override
+    public int getTotalLevels() {
+        return offsets.length;
+    }
+
+    @Override
+    public long contentHash() {
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.position(0);
+        return LevelTemplate.mixBytes(LevelTemplate.FNV_OFFSET, bytes);
+    }
+
+    @Override
+    public Level loadLevel(int levelIndex) throws LevelLoadException {
+        if (levelIndex < 0 || levelIndex >= offsets.length) {
+            throw new LevelLoadException("Índice de nivel fuera de rango: " + levelIndex);
+        }
+        try {
+            // Cada carga lee con su propia posición, así que se puede cargar desde varios hilos
+            ByteBuffer in = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            in.position((int) offsets[levelIndex]);
+            return readLevel(in);
+        } catch (RuntimeException e) {
+            throw new LevelLoadException("No se pudo leer el nivel " + levelIndex + " del paquete.", e);
+        }
+    }
+
+    private static Level readLevel(ByteBuffer in) {
+        Level level = new Level(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT);
+
+        // Jugador
+        float startX = in.getFloat();
+        float startY = in.getFloat();
+        int size = in.getInt();
+        float speed = in.getFloat();
+        level.setPlayer(new Player(startX, startY, size, speed));
+        level.initialPlayerX = startX;
+        level.initialPlayerY = startY;
+
+        // Meta
+        level.setGoal(new Goal(in.getFloat(), in.getFloat(), in.getInt(), in.getInt()));
+
+        // Llave (los campos están siempre, aunque no haya llave)
+        boolean hasKey = in.getInt() != 0;
+        Key key = new Key(in.getFloat(), in.getFloat(), in.getInt(), in.getInt());
+        if (hasKey) {
+            level.setKey(key);
+        }
+
+        // Tiles: un byte por tile
+        int tileSize = in.getInt();
+        int rows = in.getInt();
+        int cols = in.getInt();
+        int[][] tileMap = null;
+        if (rows > 0) {
+            tileMap = new int[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                int[] row = tileMap[i];
+                for (int j = 0; j < cols; j++) {
+                    row[j] = in.get() & 0xFF;
+                }
+            }
+        }
+        in.position(align4(in.position()));
+
+        // Obstáculos: se escriben directamente en el ObstacleField del nivel
+        int obstacleCount = in.getInt();
+        int base = in.position();
+        int xs = base;
+        int ys = xs + obstacleCount * 4;
+        int radii = ys + obstacleCount * 4;
+        int speeds = radii + obstacleCount * 4;
+        int horizontals = speeds + obstacleCount * 4;
+        int barrierCounts = horizontals + obstacleCount * 4;
+        int barrierData = barrierCounts + obstacleCount * 4;
+        ObstacleField field = new ObstacleField(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            int[] barriers = new int[in.getInt(barrierCounts + i * 4) * 4];
+            for (int b = 0; b < barriers.length; b++) {
+                barriers[b] = in.getInt(barrierData);
+                barrierData += 4;
+            }
+            field.set(i, in.getFloat(xs + i * 4), in.getFloat(ys + i * 4), in.getInt(radii + i * 4),
+                    in.getFloat(speeds + i * 4), in.getInt(horizontals + i * 4) != 0,
+                    Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, barriers);
+        }
+        in.position(barrierData);
+        level.setObstacleField(field);
+
+        // Monedas
+        int coinCount = in.getInt();
+        int coinXs = in.position();
+        int coinYs = coinXs + coinCount * 4;
+        int coinRadii = coinYs + coinCount * 4;
+        List<Coin> coins = new ArrayList<>(coinCount);
+        for (int i = 0; i < coinCount; i++) {
+            coins.add(new Coin(in.getFloat(coinXs + i * 4), in.getFloat(coinYs + i * 4), in.getInt(coinRadii + i * 4)));
+        }
+        in.position(coinRadii + coinCount * 4);
+        level.setCoins(coins);
+
+        if (tileMap != null) {
+            level.setTileMap(tileMap, tileSize);
+        }
+        level.precomputeObstacleMotion();
+        return level;
+    }
+
+    static int align4(int position) {
+        return (position + 3) & ~3;
+    }
+}
@@ -0,0 +1,166 @@
+package game.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Compila un 'levels.json' al formato binario de {@link LevelPack}. Uso:
+ * <pre>
+ * java -cp &lt;classpath&gt; game.model.LevelPackCompiler [levels.json] [levels.lvlbin]
+ * </pre>
+ * Sin argumentos compila el 'levels.json' de los recursos a 'levels.lvlbin'.
+ */
+public class LevelPackCompiler {
+
+    public static void main(String[] args) throws IOException, LevelLoadException {
+        Path output = Paths.get(args.length > 1 ? args[1] : "levels" + LevelPack.EXTENSION);
+        JsonNode root;
+        ObjectMapper mapper = new ObjectMapper();
+        if (args.length > 0) {
+            root = mapper.readTree(Paths.get(args[0]).toFile());
+        } else {
+            try (InputStream is = LevelPackCompiler.class.getResourceAsStream("/levels.json")) {
+                if (is == null) {
+                    throw new LevelLoadException("El archivo 'levels.json' no se encontró en los recursos.");
+                }
+                root = mapper.readTree(is);
+            }
+        }
+        List<JsonNode> levels = new ArrayList<>();
+        root.get("levels").forEach(levels::add);
+        compile(levels, output);
+        System.out.println(levels.size() + " niveles compilados en " + output + " (" + Files.size(output) + " bytes)");
+    }
+
+    /**
+     * Escribe los niveles dados (elementos del array "levels") en un fichero '.lvlbin'.
+     */
+    public static void compile(List<JsonNode> levels, Path output) throws IOException, LevelLoadException {
+        Files.write(output, toBytes(levels));
+    }
+
+    public static byte[] toBytes(List<JsonNode> levels) throws LevelLoadException {
+        List<ByteBuffer> blocks = new ArrayList<>();
+        for (int i = 0; i < levels.size(); i++) {
+            try {
+                blocks.add(writeLevel(levels.get(i)));
+            } catch (RuntimeException e) {
+                throw new LevelLoadException("No se pudo compilar el nivel " + i, e);
+            }
+        }
+
+        int headerSize = 12 + levels.size() * 8;
+        int total = headerSize;
+        for (ByteBuffer block : blocks) {
+            total += block.limit();
+        }
+        ByteBuffer out = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(LevelPack.MAGIC).putInt(LevelPack.VERSION).putInt(levels.size());
+        long offset = headerSize;
+        for (ByteBuffer block : blocks) {
+            out.putLong(offset);
+            offset += block.limit();
+        }
+        for (ByteBuffer block : blocks) {
+            out.put(block);
+        }
+        return out.array();
+    }
+
+    // Mismos campos y valores por defecto que LevelLoader.parseLevel
+    private static ByteBuffer writeLevel(JsonNode levelNode) throws LevelLoadException {
+        JsonNode tileMapNode = levelNode.get("tileMap");
+        int rows = tileMapNode != null ? tileMapNode.size() : 0;
+        int cols = rows > 0 ? tileMapNode.get(0).size() : 0;
+        JsonNode obstacles = levelNode.get("obstacles");
+        int barrierTotal = 0;
+        for (JsonNode obstacleNode : obstacles) {
+            if (obstacleNode.has("customBounceBarriers")) {
+                barrierTotal += obstacleNode.get("customBounceBarriers").size();
+            }
+        }
+        JsonNode coins = levelNode.has("coins") ? levelNode.get("coins") : null;
+        int coinCount = coins != null ? coins.size() : 0;
+
+        int size = 16 + 16 + 20 + 12 + LevelPack.align4(rows * cols)
+                + 4 + obstacles.size() * 24 + barrierTotal * 16
+                + 4 + coinCount * 12;
+        ByteBuffer out = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        JsonNode playerNode = levelNode.get("player");
+        out.putFloat(playerNode.get("x").floatValue())
+                .putFloat(playerNode.get("y").floatValue())
+                .putInt(playerNode.get("size").intValue())
+                .putFloat(playerNode.get("speed").floatValue());
+
+        JsonNode goalNode = levelNode.get("goal");
+        putRectangle(out, goalNode);
+
+        if (levelNode.has("key")) {
+            out.putInt(1);
+            putRectangle(out, levelNode.get("key"));
+        } else {
+            out.putInt(0).putFloat(0).putFloat(0).putInt(0).putInt(0);
+        }
+
+        out.putInt(rows > 0 ? levelNode.get("tileSize").intValue() : 0).putInt(rows).putInt(cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                int tile = tileMapNode.get(i).get(j).intValue();
+                if (tile < 0 || tile > 0xFF) {
+                    throw new LevelLoadException("Tipo de tile fuera de rango en (" + i + ", " + j + "): " + tile);
+                }
+                out.put((byte) tile);
+            }
+        }
+        out.position(LevelPack.align4(out.position()));
+
+        out.putInt(obstacles.size());
+        for (JsonNode o : obstacles) out.putFloat(o.get("x").floatValue());
+        for (JsonNode o : obstacles) out.putFloat(o.get("y").floatValue());
+        for (JsonNode o : obstacles) out.putInt(o.get("radius").intValue());
+        for (JsonNode o : obstacles) out.putFloat(o.get("speed").floatValue());
+        for (JsonNode o : obstacles) out.putInt(o.get("horizontal").booleanValue() ? 1 : 0);
+        for (JsonNode o : obstacles) {
+            out.putInt(o.has("customBounceBarriers") ? o.get("customBounceBarriers").size() : 0);
+        }
+        for (JsonNode o : obstacles) {
+            if (o.has("customBounceBarriers")) {
+                for (JsonNode barrierNode : o.get("customBounceBarriers")) {
+                    out.putInt(barrierNode.get("x").intValue())
+                            .putInt(barrierNode.get("y").intValue())
+                            .putInt(barrierNode.get("width").intValue())
+                            .putInt(barrierNode.get("height").intValue());
+                }
+            }
+        }
+
+        out.putInt(coinCount);
+        if (coins != null) {
+            for (JsonNode c : coins) out.putFloat(c.get("x").floatValue());
+            for (JsonNode c : coins) out.putFloat(c.get("y").floatValue());
+            for (JsonNode c : coins) out.putInt(c.get("radius").intValue());
+        }
+        out.flip();
+        return out;
+    }
+
+    private static void putRectangle(ByteBuffer out, JsonNode node) {
+        out.putFloat(node.get("x").floatValue())
+                .putFloat(node.get("y").floatValue())
+                .putInt(node.get("width").intValue())
+                .putInt(node.get("height").intValue());
+    }
+}
@@ -0,0 +1,18 @@
+package game.model;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * De dónde se cargan los niveles del juego (ver {@link LevelLoader#setLevelSource}).
+ */
+public interface LevelSource {
+    int getTotalLevels() throws LevelLoadException;
+
+    Level loadLevel(int levelIndex) throws LevelLoadException;
+
+    /**
+     * Hash de los bytes de la fuente tal cual, sin construir ningún nivel. Dos fuentes con
+     * los mismos niveles en distinto formato (JSON y '.lvlbin') dan hashes distintos.
+     */
+    long contentHash() throws LevelLoadException;
+}
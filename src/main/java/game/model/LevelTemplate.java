@@ -0,0 +1,172 @@
+package game.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * La parte de un nivel que no cambia al jugarlo: mapa de tiles (y su máscara compilada), meta,
+ * posiciones iniciales, geometría de monedas y llave, y los parámetros, barreras y recorridos
+ * precalculados de los obstáculos. Se carga una vez y se comparte entre todas las partidas.
+ * <p>
+ * Cada {@link #newLevel()} solo reserva el estado que sí cambia: posición y velocidad de los
+ * obstáculos, un bit por moneda, la llave, las puertas y el jugador. Con muchas partidas a la
+ * vez en el mismo nivel (ver {@code SessionManager}) el mapa y los recorridos ya no se repiten
+ * en memoria por cada una.
+ */
+public final class LevelTemplate {
+    static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int windowWidth, windowHeight;
+    private final float playerX, playerY;
+    private final int playerSize;
+    private final float playerSpeed;
+    private final float initialPlayerX, initialPlayerY;
+    private final Goal goal; // Inmutable, se comparte tal cual
+    private final Key key; // Solo su geometría: cada nivel tiene su propia Key
+    private final CoinField coins;
+    private final ObstacleField obstacles; // En su estado inicial; nunca se actualiza
+    private final int[][] tileMap; // Nadie lo modifica después de cargarlo
+    private final int tileSize;
+    private final TileMask tileMask;
+    private final long contentHash;
+
+    private LevelTemplate(Level level) {
+        Player player = level.getPlayer();
+        this.windowWidth = level.getWindowWidth();
+        this.windowHeight = level.getWindowHeight();
+        this.playerX = player.getX();
+        this.playerY = player.getY();
+        this.playerSize = player.getSize();
+        this.playerSpeed = player.getSpeed();
+        this.initialPlayerX = level.initialPlayerX;
+        this.initialPlayerY = level.initialPlayerY;
+        this.goal = level.getGoal();
+        this.key = level.getKey();
+        this.coins = level.getCoinField().newInstance();
+        this.obstacles = level.getObstacleField() != null ? level.getObstacleField().newInstance() : null;
+        this.tileMap = level.getTileMap();
+        this.tileSize = level.getTileSize();
+        this.tileMask = level.getTileMask();
+        this.contentHash = hashOf(level);
+    }
+
+    /**
+     * Crea la plantilla a partir de un nivel recién cargado (por ejemplo, con
+     * {@link LevelLoader#parseLevel} o de un {@link LevelPack}). El nivel no debe usarse
+     * después para jugar: su mapa pasa a ser compartido.
+     */
+    public static LevelTemplate of(Level level) {
+        return new LevelTemplate(level);
+    }
+
+    /**
+     * Un nivel nuevo, en su estado inicial, que comparte con la plantilla todo lo inmutable.
+     */
+    public Level newLevel() {
+        Level level = new Level(windowWidth, windowHeight);
+        level.setPlayer(new Player(playerX, playerY, playerSize, playerSpeed));
+        level.initialPlayerX = initialPlayerX;
+        level.initialPlayerY = initialPlayerY;
+        level.setGoal(goal);
+        if (key != null) {
+            level.setKey(new Key(key.getX(), key.getY(), key.getWidth(), key.getHeight()));
+        }
+        level.useTemplateState(coins.newInstance(), obstacles != null ? obstacles.newInstance() : null,
+                tileMap, tileSize, tileMask);
+        return level;
+    }
+
+    /**
+     * Hash (FNV-1a de 64 bits) de todo lo que influye en la simulación del nivel. Es el mismo
+     * venga el nivel de 'levels.json' o de un {@link LevelPack}; sirve para comprobar que una
+     * repetición se reproduce con los mismos niveles con los que se grabó.
+     */
+    public long contentHash() {
+        return contentHash;
+    }
+
+    /**
+     * El mismo {@link #contentHash()} que tendría {@code of(level)}, pero leyendo el nivel
+     * directamente, sin copiar monedas ni obstáculos. Como {@link #of}, espera un nivel recién
+     * cargado: la posición del jugador cuenta.
+     */
+    public static long hashOf(Level level) {
+        Player player = level.getPlayer();
+        Goal goal = level.getGoal();
+        Key key = level.getKey();
+        CoinField coins = level.getCoinField();
+        ObstacleField obstacles = level.getObstacleField();
+        int[][] tileMap = level.getTileMap();
+        long hash = FNV_OFFSET;
+        hash = mix(hash, level.getWindowWidth());
+        hash = mix(hash, level.getWindowHeight());
+        hash = mixFloat(hash, player.getX());
+        hash = mixFloat(hash, player.getY());
+        hash = mix(hash, player.getSize());
+        hash = mixFloat(hash, player.getSpeed());
+        hash = mixFloat(hash, level.initialPlayerX);
+        hash = mixFloat(hash, level.initialPlayerY);
+        if (goal != null) {
+            hash = mixFloat(hash, goal.getX());
+            hash = mixFloat(hash, goal.getY());
+            hash = mix(hash, goal.getWidth());
+            hash = mix(hash, goal.getHeight());
+        }
+        if (key != null) {
+            hash = mixFloat(hash, key.getX());
+            hash = mixFloat(hash, key.getY());
+            hash = mix(hash, key.getWidth());
+            hash = mix(hash, key.getHeight());
+        }
+        hash = mix(hash, coins.size());
+        for (int i = 0; i < coins.size(); i++) {
+            hash = mixFloat(hash, coins.x[i]);
+            hash = mixFloat(hash, coins.y[i]);
+            hash = mix(hash, coins.radius[i]);
+        }
+        if (obstacles != null) {
+            hash = obstacles.hashInto(hash);
+        }
+        hash = mix(hash, level.getTileSize());
+        if (tileMap != null) {
+            hash = mix(hash, tileMap.length);
+            for (int[] row : tileMap) {
+                hash = mix(hash, row.length);
+                for (int tile : row) {
+                    hash = mix(hash, tile);
+                }
+            }
+        }
+        return hash;
+    }
+
+    // FNV-1a, un byte cada vez
+    static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // FNV-1a de los bytes que quedan en el buffer; lo deja al final
+    static long mixBytes(long hash, ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            hash ^= bytes.get() & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mixFloat(long hash, float value) {
+        return mix(hash, Float.floatToIntBits(value));
+    }
+
+    public int getObstacleCount() {
+        return obstacles != null ? obstacles.size() : 0;
+    }
+
+    public int getCoinCount() {
+        return coins.size();
+    }
+}
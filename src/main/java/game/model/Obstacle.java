@@ -5,26 +5,24 @@ import java.awt.geom.Ellipse2D;
 import java.util.List;
 import java.util.ArrayList;
 
+/**
+ * Un obstáculo circular que se mueve en un solo eje y rebota.
+ * Su estado vive en un {@link ObstacleField}: al crearse tiene un campo propio de una
+ * posición, y cuando el nivel agrupa sus obstáculos pasa a apuntar al campo del nivel.
+ * Los niveles que se cargan (LevelLoader, LevelPack) no crean obstáculos sueltos: rellenan
+ * el campo del nivel directamente y los Obstacle solo se crean si alguien los pide.
+ */
 public class Obstacle {
-    private float x, y; // Posición del centro del círculo
-    private final int radius; // Radio del círculo
-    private float speed; // Velocidad (positiva o negativa)
-    private final boolean isHorizontal; // True: mueve horizontal, False: mueve vertical
-    private final int windowWidth, windowHeight; // Límites de la ventana
-    private final List<Rectangle> customBounceBarriers;
+    private ObstacleField field;
+    private int index;
 
     // Constructor principal que incluye barreras de rebote personalizadas
     public Obstacle(float x, float y, int radius, float speed, boolean isHorizontal, int windowWidth,
                     int windowHeight, List<Rectangle> customBounceBarriers) {
-        this.x = x;
-        this.y = y;
-        this.radius = radius;
-        this.speed = speed;
-        this.isHorizontal = isHorizontal;
-        this.windowWidth = windowWidth;
-        this.windowHeight = windowHeight;
-        // Asegura que customBounceBarriers nunca sea null para evitar NullPointerExceptions
-        this.customBounceBarriers = (customBounceBarriers != null) ? customBounceBarriers : new ArrayList<>();
+        this.field = new ObstacleField(1, ObstacleKernel.SCALAR);
+        this.index = 0;
+        field.set(0, x, y, radius, speed, isHorizontal, windowWidth, windowHeight,
+                flattenBarriers(customBounceBarriers));
     }
 
     // Constructor sobrecargado (sin barreras personalizadas explícitas)
@@ -34,92 +32,52 @@ public class Obstacle {
         this(x, y, radius, speed, isHorizontal, windowWidth, windowHeight, new ArrayList<>());
     }
 
-    public void update(int[][] tileMap, int tileSize) {
-        // Posición tentativa para el próximo frame
-        float tentativeX = x;
-        float tentativeY = y;
+    // Referencia a un obstáculo que ya está en un ObstacleField (ver Level.setObstacleField)
+    Obstacle(ObstacleField field, int index) {
+        this.field = field;
+        this.index = index;
+    }
 
-        if (isHorizontal) {
-            tentativeX += speed;
-        } else {
-            tentativeY += speed;
+    // Las barreras se guardan aplanadas como {x, y, width, height} por barrera
+    // para que el paso del obstáculo no tenga que recorrer objetos Rectangle.
+    private static int[] flattenBarriers(List<Rectangle> barriers) {
+        if (barriers == null) {
+            return new int[0];
         }
-
-        // Límites del obstáculo en la posición tentativa
-        Rectangle nextPosBounds = new Rectangle(
-                (int) (tentativeX - radius),
-                (int) (tentativeY - radius),
-                radius * 2,
-                radius * 2);
-
-        // Comprobar colisiones
-        boolean collisionWithTileMap = collidesWithTileMap(nextPosBounds, tileMap, tileSize);
-        boolean collisionWithCustomBarrier = false;
-        for (Rectangle barrier : this.customBounceBarriers) {
-            if (nextPosBounds.intersects(barrier)) {
-                collisionWithCustomBarrier = true;
-                break;
-            }
-        }
-
-        boolean internalCollision = collisionWithTileMap || collisionWithCustomBarrier;
-
-        if (isHorizontal) {
-            // Colisión con bordes de ventana o barreras internas
-            if (tentativeX - radius < 0 || tentativeX + radius > windowWidth || internalCollision) {
-                speed = -speed; // Invertir velocidad
-                if (internalCollision) {
-                    // No actualizar 'x', el obstáculo se queda en su posición actual
-                    // para evitar penetrar la barrera. Se moverá en la nueva dirección en el próximo frame.
-                } else if (tentativeX - radius < 0) {
-                    x = radius; // Ajustar al borde izquierdo
-                } else if (tentativeX + radius > windowWidth) {
-                    x = windowWidth - radius; // Ajustar al borde derecho
-                }
-            } else {
-                x = tentativeX; // Mover si no hay colisión
-            }
-        } else { // Movimiento vertical
-            // Colisión con bordes de ventana o barreras internas
-            if (tentativeY - radius < 0 || tentativeY + radius > windowHeight || internalCollision) {
-                speed = -speed; // Invertir velocidad
-                if (internalCollision) {
-                    // No actualizar 'y' por la misma razón que con 'x'.
-                } else if (tentativeY - radius < 0) {
-                    y = radius; // Ajustar al borde superior
-                } else if (tentativeY + radius > windowHeight) {
-                    y = windowHeight - radius; // Ajustar al borde inferior
-                }
-            } else {
-                y = tentativeY; // Mover si no hay colisión
-            }
+        int[] flat = new int[barriers.size() * 4];
+        for (int i = 0; i < barriers.size(); i++) {
+            Rectangle barrier = barriers.get(i);
+            flat[i * 4] = barrier.x;
+            flat[i * 4 + 1] = barrier.y;
+            flat[i * 4 + 2] = barrier.width;
+            flat[i * 4 + 3] = barrier.height;
         }
+        return flat;
     }
 
-    private boolean collidesWithTileMap(Rectangle objectBounds, int[][] tileMap, int tileSize) {
-        int startCol = Math.max(0, objectBounds.x / tileSize);
-        int endCol = Math.min(tileMap[0].length - 1, (objectBounds.x + objectBounds.width) / tileSize);
-        int startRow = Math.max(0, objectBounds.y / tileSize);
-        int endRow = Math.min(tileMap.length - 1, (objectBounds.y + objectBounds.height) / tileSize);
+    /**
+     * Avanza el obstáculo un tick. Solo trabaja con primitivas, así que no reserva
+     * memoria. Para mover todos los obstáculos de un nivel es mejor {@link ObstacleField#update}.
+     */
+    public void update(int[][] tileMap, int tileSize) {
+        field.step(index, tileMap, tileSize);
+    }
 
-        for (int row = startRow; row <= endRow; row++) {
-            for (int col = startCol; col <= endCol; col++) {
-                if (tileMap[row][col] == 1) { // 1 representa una pared
-                    Rectangle tileRect = new Rectangle(col * tileSize, row * tileSize, tileSize, tileSize);
-                    if (objectBounds.intersects(tileRect)) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+    void bindTo(ObstacleField field, int index) {
+        this.field = field;
+        this.index = index;
     }
 
+    ObstacleField getField() { return field; }
+    int getIndex() { return index; }
+
     public Ellipse2D getBounds() {
-        return new Ellipse2D.Float(x - radius, y - radius, radius * 2, radius * 2);
+        int radius = getRadius();
+        return new Ellipse2D.Float(getX() - radius, getY() - radius, radius * 2, radius * 2);
     }
 
-    public float getX() { return x; }
-    public float getY() { return y; }
-    public int getRadius() { return radius; }
-}
\ No newline at end of file
+    public float getX() { return field.getX(index); }
+    public float getY() { return field.getY(index); }
+    public int getRadius() { return field.getRadius(index); }
+    public boolean isHorizontal() { return field.isHorizontal(index); }
+}
@@ -0,0 +1,511 @@
+package game.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estado de todos los obstáculos de un nivel guardado en arrays paralelos de primitivas
+ * (struct-of-arrays). Cada {@link Obstacle} es solo una referencia a una posición de estos arrays,
+ * así que actualizar o probar colisiones contra miles de obstáculos recorre memoria contigua
+ * en vez de saltar de objeto en objeto.
+ */
+public class ObstacleField {
+    private static final int[] NO_BARRIERS = new int[0];
+
+    private final int count;
+    // Coordenada en el eje de movimiento y en el eje fijo
+    final float[] pos;
+    private final float[] previousPos; // pos antes del último update(), para interpolar al dibujar
+    final float[] fixed;
+    final float[] speed;
+    final int[] radius;
+    final float[] radiusF; // El mismo radio como float, para el kernel vectorial
+    final boolean[] horizontal;
+    final float[] limit; // Ancho o alto de la ventana, según el eje de movimiento
+    private final int[][] barriers; // {x, y, width, height} por barrera, por obstáculo
+
+    // Memoria de trabajo del kernel, reutilizada en cada tick
+    final float[] tentative;
+    final boolean[] outOfWindow;
+
+    private final ObstacleKernel kernel;
+    private TileMask tileMask; // Paredes del último tileMap usado, en bits
+
+    // Movimiento precalculado (ver precomputeMotion). Cada obstáculo recorre un "track":
+    // primero un tramo inicial y después un ciclo [loopStart, track.length) que se repite.
+    private static final int MAX_TRACK_LENGTH = 1 << 16;
+    private float[][] trackPos;
+    private float[][] trackSpeed;
+    private int[] loopStart; // -1 si el obstáculo no resultó periódico
+    private int nonPeriodic; // Obstáculos sin recorrido, que se siguen moviendo con el kernel
+    private int[] phase; // Posición actual dentro del track
+    private float[] initialPos;
+    private float[] initialSpeed;
+    private long tick;
+
+    ObstacleField(int count) {
+        this(count, ObstacleKernel.preferred());
+    }
+
+    ObstacleField(int count, ObstacleKernel kernel) {
+        this.count = count;
+        this.pos = new float[count];
+        this.fixed = new float[count];
+        this.speed = new float[count];
+        this.radius = new int[count];
+        this.radiusF = new float[count];
+        this.horizontal = new boolean[count];
+        this.limit = new float[count];
+        this.barriers = new int[count][];
+        this.tentative = new float[count];
+        this.outOfWindow = new boolean[count];
+        this.previousPos = new float[count];
+        this.kernel = kernel;
+    }
+
+    // Copia en el estado inicial que comparte con 'shared' todo lo que no cambia durante el nivel:
+    // radios, ejes, límites, barreras y recorridos precalculados. Solo pos, speed y phase son suyos.
+    private ObstacleField(ObstacleField shared) {
+        this.count = shared.count;
+        this.fixed = shared.fixed;
+        this.radius = shared.radius;
+        this.radiusF = shared.radiusF;
+        this.horizontal = shared.horizontal;
+        this.limit = shared.limit;
+        this.barriers = shared.barriers;
+        this.kernel = shared.kernel;
+        this.tileMask = shared.tileMask;
+        this.pos = (shared.initialPos != null ? shared.initialPos : shared.pos).clone();
+        this.speed = (shared.initialSpeed != null ? shared.initialSpeed : shared.speed).clone();
+        this.previousPos = pos.clone();
+        this.tentative = new float[count];
+        this.outOfWindow = new boolean[count];
+        this.trackPos = shared.trackPos;
+        this.trackSpeed = shared.trackSpeed;
+        this.loopStart = shared.loopStart;
+        this.nonPeriodic = shared.nonPeriodic;
+        this.initialPos = shared.initialPos;
+        this.initialSpeed = shared.initialSpeed;
+        this.phase = shared.phase != null ? new int[count] : null;
+    }
+
+    /**
+     * Otro campo con los mismos obstáculos en su estado inicial (ver {@link LevelTemplate}).
+     * Los arrays que no cambian se comparten, así que cada copia solo ocupa unos pocos
+     * floats por obstáculo aunque los recorridos precalculados sean largos.
+     */
+    ObstacleField newInstance() {
+        return new ObstacleField(this);
+    }
+
+    /**
+     * Mezcla en el hash todo lo que decide cómo se mueven los obstáculos desde el estado
+     * inicial (ver {@link LevelTemplate#contentHash()}).
+     */
+    long hashInto(long hash) {
+        float[] startPos = initialPos != null ? initialPos : pos;
+        float[] startSpeed = initialSpeed != null ? initialSpeed : speed;
+        hash = LevelTemplate.mix(hash, count);
+        for (int i = 0; i < count; i++) {
+            hash = LevelTemplate.mix(hash, Float.floatToIntBits(startPos[i]));
+            hash = LevelTemplate.mix(hash, Float.floatToIntBits(fixed[i]));
+            hash = LevelTemplate.mix(hash, Float.floatToIntBits(startSpeed[i]));
+            hash = LevelTemplate.mix(hash, radius[i]);
+            hash = LevelTemplate.mix(hash, horizontal[i] ? 1 : 0);
+            hash = LevelTemplate.mix(hash, Float.floatToIntBits(limit[i]));
+            hash = LevelTemplate.mix(hash, barriers[i].length);
+            for (int b : barriers[i]) {
+                hash = LevelTemplate.mix(hash, b);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Crea un campo con el estado actual de los obstáculos y los enlaza a él,
+     * de modo que a partir de ahora leen y escriben en estos arrays.
+     */
+    public static ObstacleField bind(List<Obstacle> obstacles) {
+        return bind(obstacles, ObstacleKernel.preferred());
+    }
+
+    static ObstacleField bind(List<Obstacle> obstacles, ObstacleKernel kernel) {
+        ObstacleField field = new ObstacleField(obstacles.size(), kernel);
+        for (int i = 0; i < obstacles.size(); i++) {
+            Obstacle obstacle = obstacles.get(i);
+            obstacle.getField().copySlot(obstacle.getIndex(), field, i);
+            obstacle.bindTo(field, i);
+        }
+        return field;
+    }
+
+    void set(int i, float x, float y, int radius, float speed, boolean isHorizontal,
+             int windowWidth, int windowHeight, int[] barriers) {
+        this.horizontal[i] = isHorizontal;
+        this.pos[i] = isHorizontal ? x : y;
+        this.previousPos[i] = this.pos[i];
+        this.fixed[i] = isHorizontal ? y : x;
+        this.speed[i] = speed;
+        this.radius[i] = radius;
+        this.radiusF[i] = radius;
+        this.limit[i] = isHorizontal ? windowWidth : windowHeight;
+        this.barriers[i] = (barriers != null && barriers.length > 0) ? barriers : NO_BARRIERS;
+    }
+
+    private void copySlot(int from, ObstacleField target, int to) {
+        target.horizontal[to] = horizontal[from];
+        target.pos[to] = pos[from];
+        target.previousPos[to] = previousPos[from];
+        target.fixed[to] = fixed[from];
+        target.speed[to] = speed[from];
+        target.radius[to] = radius[from];
+        target.radiusF[to] = radiusF[from];
+        target.limit[to] = limit[from];
+        target.barriers[to] = barriers[from];
+    }
+
+    /**
+     * Avanza todos los obstáculos un tick. Si el movimiento está precalculado, los obstáculos
+     * periódicos solo avanzan en su recorrido. El resto (todos, si no hay recorridos) pasa por
+     * el kernel, que calcula las posiciones tentativas y los choques con los bordes de la
+     * ventana para todo el array de una vez; después se resuelven uno a uno los choques con
+     * paredes y barreras.
+     * <p>
+     * En los niveles cargados todos los obstáculos suelen ser periódicos, así que el kernel
+     * (también el vectorial) solo mueve obstáculos en campos sin precalcular, como los de
+     * {@link #bind}, o los pocos que no se repiten en MAX_TRACK_LENGTH ticks.
+     */
+    public void update(int[][] tileMap, int tileSize) {
+        System.arraycopy(pos, 0, previousPos, 0, count);
+        tick++;
+        TileMask walls = maskFor(tileMap, tileSize);
+        if (trackPos == null || nonPeriodic > 0) {
+            kernel.advance(this, count);
+        }
+        if (trackPos != null) {
+            advanceAlongTracks(walls);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            resolve(i, tentative[i], outOfWindow[i], walls);
+        }
+    }
+
+    /**
+     * Precalcula el movimiento de cada obstáculo. Las paredes, los bordes y las barreras
+     * no cambian durante el nivel (los obstáculos ignoran las puertas), así que la posición
+     * es una función periódica del tick: se simula una vez hasta que el estado
+     * (posición, velocidad) se repite y se guarda ese recorrido. A partir de ahí
+     * update() y seek() solo leen del recorrido, en O(1) por obstáculo.
+     * <p>
+     * No hay fórmula cerrada exacta (las sumas en float redondean distinto en cada sentido, así
+     * que la vuelta no siempre repite la ida), pero el ciclo siempre pasa por un rebote: entre
+     * rebotes la posición solo avanza. Por eso solo se buscan repeticiones entre los estados
+     * justo después de cada rebote, en una tabla de primitivas.
+     * Un obstáculo que no se repite en MAX_TRACK_LENGTH ticks se sigue simulando paso a paso.
+     */
+    public void precomputeMotion(int[][] tileMap, int tileSize) {
+        trackPos = new float[count][];
+        trackSpeed = new float[count][];
+        loopStart = new int[count];
+        phase = new int[count];
+        initialPos = pos.clone();
+        initialSpeed = speed.clone();
+        tick = 0;
+        nonPeriodic = 0;
+
+        TileMask walls = maskFor(tileMap, tileSize);
+        StateTable bounces = new StateTable();
+        float[] posBuffer = new float[MAX_TRACK_LENGTH];
+        float[] speedBuffer = new float[MAX_TRACK_LENGTH];
+        for (int i = 0; i < count; i++) {
+            bounces.clear();
+            bounces.putIfAbsent(state(i), 0);
+            loopStart[i] = -1;
+            int length = 0;
+            while (length < MAX_TRACK_LENGTH) {
+                float previousSpeed = speed[i];
+                float previous = pos[i];
+                posBuffer[length] = previous;
+                speedBuffer[length] = previousSpeed;
+                length++;
+                step(i, walls);
+                // Rebote, o un obstáculo que no se mueve: solo aquí puede cerrarse el ciclo
+                if (speed[i] != previousSpeed || pos[i] == previous) {
+                    int firstSeen = bounces.putIfAbsent(state(i), length);
+                    if (firstSeen >= 0) {
+                        loopStart[i] = firstSeen;
+                        break;
+                    }
+                }
+            }
+            if (loopStart[i] >= 0) {
+                trackPos[i] = Arrays.copyOf(posBuffer, length);
+                trackSpeed[i] = Arrays.copyOf(speedBuffer, length);
+            } else {
+                nonPeriodic++;
+            }
+            pos[i] = initialPos[i];
+            speed[i] = initialSpeed[i];
+        }
+    }
+
+    private long state(int i) {
+        return ((long) Float.floatToIntBits(pos[i]) << 32) | (Float.floatToIntBits(speed[i]) & 0xFFFFFFFFL);
+    }
+
+    // Tabla hash long -> int de direccionamiento abierto, sin objetos por entrada
+    private static final class StateTable {
+        private long[] keys = new long[64];
+        private int[] values = new int[64];
+        private int[] generations = new int[64]; // Una entrada vale si es de la generación actual
+        private int generation = 1;
+        private int size;
+
+        void clear() {
+            generation++;
+            size = 0;
+        }
+
+        // @return El valor que ya tenía la clave, o -1 si se acaba de añadir
+        int putIfAbsent(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (generations[slot] == generation) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            generations[slot] = generation;
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            return -1;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            int[] oldGenerations = generations;
+            int current = generation;
+            keys = new long[oldKeys.length * 2];
+            values = new int[keys.length];
+            generations = new int[keys.length];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldGenerations[i] == current) {
+                    putIfAbsent(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    private void advanceAlongTracks(TileMask walls) {
+        for (int i = 0; i < count; i++) {
+            float[] track = trackPos[i];
+            if (track == null) {
+                resolve(i, tentative[i], outOfWindow[i], walls); // El kernel ya calculó su paso
+                continue;
+            }
+            int next = phase[i] + 1;
+            if (next == track.length) {
+                next = loopStart[i];
+            }
+            phase[i] = next;
+            pos[i] = track[next];
+            speed[i] = trackSpeed[i][next];
+        }
+    }
+
+    /**
+     * Coloca todos los obstáculos donde estarían tras {@code targetTick} ticks desde el inicio
+     * del nivel. Con el movimiento precalculado cuesta O(1) por obstáculo, sea cual sea el tick.
+     */
+    public void seek(long targetTick, int[][] tileMap, int tileSize) {
+        if (trackPos == null) {
+            throw new IllegalStateException("El movimiento de los obstáculos no está precalculado.");
+        }
+        for (int i = 0; i < count; i++) {
+            float[] track = trackPos[i];
+            if (track != null) {
+                int index = trackIndex(i, targetTick);
+                phase[i] = index;
+                pos[i] = track[index];
+                speed[i] = trackSpeed[i][index];
+            } else {
+                // Sin periodo conocido: se simula desde el tick actual o desde el principio
+                long steps = targetTick - tick;
+                if (steps < 0) {
+                    pos[i] = initialPos[i];
+                    speed[i] = initialSpeed[i];
+                    steps = targetTick;
+                }
+                for (long s = 0; s < steps; s++) {
+                    step(i, tileMap, tileSize);
+                }
+            }
+        }
+        tick = targetTick;
+        System.arraycopy(pos, 0, previousPos, 0, count); // Un salto no se interpola
+    }
+
+    private int trackIndex(int i, long targetTick) {
+        int length = trackPos[i].length;
+        if (targetTick < length) {
+            return (int) targetTick;
+        }
+        int start = loopStart[i];
+        return start + (int) ((targetTick - start) % (length - start));
+    }
+
+    /**
+     * @return La posición (en su eje de movimiento) del obstáculo i en el tick dado,
+     * sin mover nada. Solo con el movimiento precalculado y obstáculos periódicos.
+     * @throws IllegalStateException Si el obstáculo no tiene recorrido precalculado.
+     */
+    public float positionAt(int i, long targetTick) {
+        if (!isPeriodic(i)) {
+            throw new IllegalStateException(trackPos == null
+                    ? "El movimiento de los obstáculos no está precalculado."
+                    : "El obstáculo " + i + " no es periódico.");
+        }
+        return trackPos[i][trackIndex(i, targetTick)];
+    }
+
+    public boolean isMotionPrecomputed() { return trackPos != null; }
+    public boolean isPeriodic(int i) { return trackPos != null && trackPos[i] != null; }
+    public int getPeriod(int i) { return isPeriodic(i) ? trackPos[i].length - loopStart[i] : -1; }
+    public long getTick() { return tick; }
+
+    /**
+     * Avanza un único obstáculo un tick (lo que hacía Obstacle.update).
+     * No actualiza el recorrido precalculado: el siguiente update() del campo manda.
+     */
+    void step(int i, int[][] tileMap, int tileSize) {
+        step(i, maskFor(tileMap, tileSize));
+    }
+
+    private void step(int i, TileMask walls) {
+        float next = pos[i] + speed[i];
+        boolean out = next - radius[i] < 0 || next + radius[i] > limit[i];
+        resolve(i, next, out, walls);
+    }
+
+    /**
+     * Usa una máscara ya compilada (la del nivel) en vez de compilar otra desde el tileMap.
+     */
+    void useTileMask(TileMask tileMask) {
+        this.tileMask = tileMask;
+    }
+
+    // La máscara se compila una vez por tileMap; las llamadas siguientes la reutilizan
+    private TileMask maskFor(int[][] tileMap, int tileSize) {
+        if (tileMap == null) {
+            return null;
+        }
+        if (tileMask == null || !tileMask.isCompiledFrom(tileMap, tileSize)) {
+            tileMask = TileMask.compile(tileMap, tileSize);
+        }
+        return tileMask;
+    }
+
+    private void resolve(int i, float next, boolean out, TileMask walls) {
+        int r = radius[i];
+        int boundsSize = r * 2;
+        int boundsX;
+        int boundsY;
+        if (horizontal[i]) {
+            boundsX = (int) (next - r);
+            boundsY = (int) (fixed[i] - r);
+        } else {
+            boundsX = (int) (fixed[i] - r);
+            boundsY = (int) (next - r);
+        }
+
+        boolean internalCollision = (walls != null && walls.overlapsWall(boundsX, boundsY, boundsSize, boundsSize))
+                || collidesWithBarrier(barriers[i], boundsX, boundsY, boundsSize);
+
+        if (out || internalCollision) {
+            speed[i] = -speed[i]; // Invertir velocidad
+            if (internalCollision) {
+                // No se mueve: así no penetra la barrera. Se moverá en la nueva dirección en el próximo tick.
+            } else if (next - r < 0) {
+                pos[i] = r; // Ajustar al borde izquierdo/superior
+            } else {
+                pos[i] = limit[i] - r; // Ajustar al borde derecho/inferior
+            }
+        } else {
+            pos[i] = next; // Mover si no hay colisión
+        }
+    }
+
+    // Replica Rectangle.intersects (bordes que solo se tocan no chocan) sin crear ningún Rectangle
+    private static boolean collidesWithBarrier(int[] barriers, int boundsX, int boundsY, int boundsSize) {
+        for (int i = 0; i < barriers.length; i += 4) {
+            if (overlaps(boundsX, boundsY, boundsSize, boundsSize,
+                    barriers[i], barriers[i + 1], barriers[i + 2], barriers[i + 3])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlaps(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) {
+            return false;
+        }
+        return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+    }
+
+    /**
+     * Prueba un jugador (rectángulo) contra todos los obstáculos (círculos) de una vez.
+     * Usa la misma fórmula que CollisionUtil.intersects(Player, Obstacle).
+     * @return El índice del primer obstáculo que toca al jugador, o -1 si ninguno lo toca.
+     */
+    public int firstIntersecting(float playerX, float playerY, int playerSize) {
+        return kernel.firstIntersecting(this, count, playerX, playerY, playerSize);
+    }
+
+    /**
+     * Prueba un jugador contra un único obstáculo.
+     */
+    public boolean intersects(int i, float playerX, float playerY, int playerSize) {
+        float centerX = horizontal[i] ? pos[i] : fixed[i];
+        float centerY = horizontal[i] ? fixed[i] : pos[i];
+        // Punto del rectángulo del jugador más cercano al centro del círculo
+        float closestX = Math.max(playerX, Math.min(centerX, playerX + playerSize));
+        float closestY = Math.max(playerY, Math.min(centerY, playerY + playerSize));
+        float distanceX = centerX - closestX;
+        float distanceY = centerY - closestY;
+        int r = radius[i];
+        return (distanceX * distanceX) + (distanceY * distanceY) < (r * r);
+    }
+
+    /**
+     * Posición del obstáculo i entre la del tick anterior (alpha = 0) y la actual (alpha = 1),
+     * para dibujar entre dos ticks de la simulación.
+     */
+    public float getInterpolatedX(int i, float alpha) {
+        return horizontal[i] ? interpolate(previousPos[i], pos[i], alpha) : fixed[i];
+    }
+
+    public float getInterpolatedY(int i, float alpha) {
+        return horizontal[i] ? fixed[i] : interpolate(previousPos[i], pos[i], alpha);
+    }
+
+    // Con alpha >= 1 devuelve exactamente la posición actual (sin errores de redondeo)
+    static float interpolate(float previous, float current, float alpha) {
+        return alpha >= 1f ? current : previous + (current - previous) * alpha;
+    }
+
+    public int size() { return count; }
+    public float getX(int i) { return horizontal[i] ? pos[i] : fixed[i]; }
+    public float getY(int i) { return horizontal[i] ? fixed[i] : pos[i]; }
+    public int getRadius(int i) { return radius[i]; }
+    public boolean isHorizontal(int i) { return horizontal[i]; }
+    public boolean isVectorized() { return kernel.isVectorized(); }
+}
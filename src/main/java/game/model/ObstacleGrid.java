@@ -0,0 +1,168 @@
+package game.model;
+
+import java.util.Arrays;
+
+/**
+ * Fase amplia (broadphase) de las colisiones jugador-obstáculo: una rejilla uniforme donde
+ * cada celda guarda los índices de los obstáculos cuyo centro está en ella. Una consulta
+ * amplía el rectángulo buscado con el radio máximo de los obstáculos y solo prueba con
+ * precisión los obstáculos de esas celdas, en vez de todos los del nivel.
+ * La rejilla se actualiza de forma incremental: en cada tick solo se recolocan los obstáculos
+ * cuyo centro ha pasado a otra celda.
+ */
+public class ObstacleGrid {
+    private static final int INITIAL_CELL_CAPACITY = 4;
+
+    private final ObstacleField field;
+    private final int cellSize;
+    private final float inverseCellSize;
+    private final int cols, rows;
+    private final int maxRadius;
+    private final int[][] cellItems; // Índices de obstáculos por celda (se crean al usarse)
+    private final int[] cellCounts;
+    private final int[] cellOf; // Celda actual de cada obstáculo
+    private final int[] slotOf; // Posición del obstáculo dentro de cellItems[cellOf[i]]
+
+    // Cada obstáculo se mueve en un solo eje, así que su celda es
+    // cellBase + (celda en el eje de movimiento) * cellStride, sin ramas por eje.
+    private final int[] cellBase;
+    private final int[] cellStride;
+    private final int[] lastAxisCell;
+
+    // Marca por obstáculo para no probarlo dos veces en una misma consulta
+    private final int[] visitedStamp;
+    private int stamp;
+
+    public ObstacleGrid(ObstacleField field, int cellSize, int width, int height) {
+        this.field = field;
+        this.cellSize = Math.max(1, cellSize);
+        this.inverseCellSize = 1f / this.cellSize;
+        this.cols = Math.max(1, (width + this.cellSize - 1) / this.cellSize);
+        this.rows = Math.max(1, (height + this.cellSize - 1) / this.cellSize);
+        this.cellItems = new int[cols * rows][];
+        this.cellCounts = new int[cols * rows];
+
+        int count = field.size();
+        this.cellOf = new int[count];
+        this.slotOf = new int[count];
+        this.visitedStamp = new int[count];
+        this.cellBase = new int[count];
+        this.cellStride = new int[count];
+        this.lastAxisCell = new int[count];
+
+        int largestRadius = 0;
+        for (int i = 0; i < count; i++) {
+            largestRadius = Math.max(largestRadius, field.getRadius(i));
+            if (field.isHorizontal(i)) {
+                cellBase[i] = rowOf(field.fixed[i]) * cols;
+                cellStride[i] = 1;
+                lastAxisCell[i] = cols - 1;
+            } else {
+                cellBase[i] = colOf(field.fixed[i]);
+                cellStride[i] = cols;
+                lastAxisCell[i] = rows - 1;
+            }
+            insert(i, cellOf(i));
+        }
+        this.maxRadius = largestRadius;
+    }
+
+    /**
+     * Recoloca los obstáculos cuyo centro ha cambiado de celda desde la última llamada.
+     * Se llama después de mover el ObstacleField.
+     */
+    public void update() {
+        for (int i = 0; i < cellOf.length; i++) {
+            int cell = cellOf(i);
+            if (cell != cellOf[i]) {
+                remove(i);
+                insert(i, cell);
+            }
+        }
+    }
+
+    /**
+     * Igual que {@link ObstacleField#firstIntersecting}, pero probando solo los obstáculos
+     * cercanos al rectángulo del jugador.
+     * @return El índice de un obstáculo que toca al jugador, o -1 si ninguno lo toca.
+     */
+    public int firstIntersecting(float playerX, float playerY, int playerSize) {
+        // Un obstáculo que toca al jugador tiene el centro a menos de su radio del rectángulo
+        int fromCol = colOf(playerX - maxRadius);
+        int toCol = colOf(playerX + playerSize + maxRadius);
+        int fromRow = rowOf(playerY - maxRadius);
+        int toRow = rowOf(playerY + playerSize + maxRadius);
+
+        int currentStamp = nextStamp();
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int col = fromCol; col <= toCol; col++) {
+                int cell = row * cols + col;
+                int[] items = cellItems[cell];
+                for (int k = 0; k < cellCounts[cell]; k++) {
+                    int i = items[k];
+                    if (visitedStamp[i] == currentStamp) {
+                        continue; // Ya probado en esta consulta
+                    }
+                    visitedStamp[i] = currentStamp;
+                    if (field.intersects(i, playerX, playerY, playerSize)) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int nextStamp() {
+        stamp++;
+        if (stamp == 0) {
+            // Tras dar la vuelta al contador, las marcas antiguas podrían confundirse
+            Arrays.fill(visitedStamp, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private void insert(int i, int cell) {
+        int[] items = cellItems[cell];
+        if (items == null) {
+            items = new int[INITIAL_CELL_CAPACITY];
+            cellItems[cell] = items;
+        } else if (cellCounts[cell] == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            cellItems[cell] = items;
+        }
+        int slot = cellCounts[cell]++;
+        items[slot] = i;
+        cellOf[i] = cell;
+        slotOf[i] = slot;
+    }
+
+    private void remove(int i) {
+        int cell = cellOf[i];
+        int[] items = cellItems[cell];
+        int last = --cellCounts[cell];
+        // El último de la celda ocupa el hueco: el orden dentro de la celda no importa
+        int moved = items[last];
+        items[slotOf[i]] = moved;
+        slotOf[moved] = slotOf[i];
+    }
+
+    private int cellOf(int i) {
+        int axisCell = Math.max(0, Math.min(lastAxisCell[i], (int) (field.pos[i] * inverseCellSize)));
+        return cellBase[i] + axisCell * cellStride[i];
+    }
+
+    // Las coordenadas fuera de la rejilla caen en las celdas del borde
+    private int colOf(float x) {
+        int col = (int) (x * inverseCellSize);
+        return Math.max(0, Math.min(cols - 1, col));
+    }
+
+    private int rowOf(float y) {
+        int row = (int) (y * inverseCellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    public int getCellSize() { return cellSize; }
+}
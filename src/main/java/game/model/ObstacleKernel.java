@@ -0,0 +1,73 @@
+package game.model;
+
+/**
+ * Bucles "anchos" de {@link ObstacleField}: calcular las posiciones tentativas de todos los
+ * obstáculos y probar al jugador contra todos ellos. La versión escalar está aquí; si el
+ * módulo jdk.incubator.vector está disponible se usa {@code VectorObstacleKernel}, que solo
+ * se compila con el perfil {@code vector} de Maven (está en src/vector/java).
+ */
+class ObstacleKernel {
+    static final ObstacleKernel SCALAR = new ObstacleKernel();
+    private static ObstacleKernel preferred;
+
+    /**
+     * El kernel vectorial si se compiló (perfil {@code vector}), la JVM se lanzó con
+     * {@code --add-modules jdk.incubator.vector} y no se desactivó con {@code -Dgame.vector=false};
+     * el escalar en otro caso.
+     */
+    static synchronized ObstacleKernel preferred() {
+        if (preferred == null) {
+            preferred = SCALAR;
+            boolean enabled = !"false".equals(System.getProperty("game.vector"));
+            if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    // Por reflexión, para no cargar clases del módulo incubador si no está presente
+                    preferred = (ObstacleKernel) Class.forName("game.model.VectorObstacleKernel")
+                            .getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    // P. ej. compilado sin el perfil vector: la clase no existe
+                    preferred = SCALAR;
+                }
+            }
+        }
+        return preferred;
+    }
+
+    boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Rellena field.tentative (posición + velocidad) y field.outOfWindow
+     * (la posición tentativa se sale de la ventana) para los obstáculos [0, count).
+     */
+    void advance(ObstacleField field, int count) {
+        advanceScalar(field, 0, count);
+    }
+
+    final void advanceScalar(ObstacleField field, int from, int count) {
+        float[] pos = field.pos;
+        float[] speed = field.speed;
+        float[] radius = field.radiusF;
+        float[] limit = field.limit;
+        for (int i = from; i < count; i++) {
+            float next = pos[i] + speed[i];
+            field.tentative[i] = next;
+            field.outOfWindow[i] = next - radius[i] < 0 || next + radius[i] > limit[i];
+        }
+    }
+
+    int firstIntersecting(ObstacleField field, int count, float playerX, float playerY, int playerSize) {
+        return firstIntersectingScalar(field, 0, count, playerX, playerY, playerSize);
+    }
+
+    final int firstIntersectingScalar(ObstacleField field, int from, int count,
+                                      float playerX, float playerY, int playerSize) {
+        for (int i = from; i < count; i++) {
+            if (field.intersects(i, playerX, playerY, playerSize)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -2,6 +2,7 @@ package game.model;
 
 public class Player {
     private float x, y; // Posición del cuadrado
+    private float previousX, previousY; // Posición antes del último update, para interpolar al dibujar
     private final int size; // Tamaño (ancho y alto)
     private final float speed; // Velocidad de movimiento (píxeles por actualización)
     private boolean movingUp, movingDown, movingLeft, movingRight;
@@ -10,11 +11,15 @@ public class Player {
     public Player(float x, float y, int size, float speed) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
         this.size = size;
         this.speed = speed;
     }
 
     public void update(Level level) {
+        previousX = x;
+        previousY = y;
         float dx = 0;
         float dy = 0;
 
@@ -44,9 +49,16 @@ public class Player {
     public void setMovingDown(boolean moving) { movingDown = moving; }
     public void setMovingLeft(boolean moving) { movingLeft = moving; }
     public void setMovingRight(boolean moving) { movingRight = moving; }
-    public void setPosition(float x, float y) { this.x = x; this.y = y; }
+    public boolean isMovingUp() { return movingUp; }
+    public boolean isMovingDown() { return movingDown; }
+    public boolean isMovingLeft() { return movingLeft; }
+    public boolean isMovingRight() { return movingRight; }
+    // Al reaparecer no se interpola desde la posición anterior
+    public void setPosition(float x, float y) { this.x = x; this.y = y; this.previousX = x; this.previousY = y; }
     public float getSpeed() { return speed; }
     public float getX() { return x; }
     public float getY() { return y; }
     public int getSize() { return size; }
+    public float getInterpolatedX(float alpha) { return ObstacleField.interpolate(previousX, x, alpha); }
+    public float getInterpolatedY(float alpha) { return ObstacleField.interpolate(previousY, y, alpha); }
 }
\ No newline at end of file
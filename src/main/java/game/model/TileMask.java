@@ -0,0 +1,106 @@
+package game.model;
+
+/**
+ * El tileMap de un nivel compilado en máscaras de bits: un bit por tile, cada fila en uno o
+ * varios long. Hay una máscara solo con las paredes y otra con paredes y puertas, así que abrir
+ * o cerrar las puertas es elegir otra máscara, y comprobar un rectángulo de tiles son unas
+ * pocas operaciones con palabras de 64 bits en vez de mirar tile a tile.
+ * El int[][] original se sigue usando para dibujar.
+ */
+public final class TileMask {
+    private final int[][] source; // tileMap del que se compiló
+    private final int tileSize;
+    private final int cols, rows;
+    private final int wordsPerRow;
+    private final long[] walls;
+    private final long[] wallsAndDoors;
+
+    private TileMask(int[][] source, int tileSize) {
+        this.source = source;
+        this.tileSize = tileSize;
+        this.rows = source.length;
+        this.cols = rows == 0 ? 0 : source[0].length;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.walls = new long[rows * wordsPerRow];
+        this.wallsAndDoors = new long[rows * wordsPerRow];
+    }
+
+    public static TileMask compile(int[][] tileMap, int tileSize) {
+        TileMask mask = new TileMask(tileMap, tileSize);
+        for (int row = 0; row < mask.rows; row++) {
+            for (int col = 0; col < mask.cols; col++) {
+                int tileType = tileMap[row][col];
+                int word = row * mask.wordsPerRow + (col >>> 6);
+                long bit = 1L << col; // El desplazamiento de un long solo usa los 6 bits bajos
+                if (tileType == Config.TILE_WALL) {
+                    mask.walls[word] |= bit;
+                    mask.wallsAndDoors[word] |= bit;
+                } else if (tileType == Config.TILE_DOOR) {
+                    mask.wallsAndDoors[word] |= bit;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Indica si en el rectángulo de tiles [minCol, maxCol] x [minRow, maxRow] hay algún tile
+     * marcado en la máscara. Lo que queda fuera del mapa no cuenta.
+     * @param mask {@link #getWalls()} o {@link #getWallsAndDoors()}.
+     */
+    public boolean any(long[] mask, int minCol, int maxCol, int minRow, int maxRow) {
+        minCol = Math.max(0, minCol);
+        maxCol = Math.min(cols - 1, maxCol);
+        minRow = Math.max(0, minRow);
+        maxRow = Math.min(rows - 1, maxRow);
+        if (minCol > maxCol || minRow > maxRow) {
+            return false;
+        }
+        int firstWord = minCol >>> 6;
+        int lastWord = maxCol >>> 6;
+        long firstMask = -1L << minCol; // Bits desde minCol hasta el final de la palabra
+        long lastMask = -1L >>> (63 - (maxCol & 63)); // Bits desde el inicio hasta maxCol
+        for (int row = minRow; row <= maxRow; row++) {
+            int base = row * wordsPerRow;
+            if (firstWord == lastWord) {
+                if ((mask[base + firstWord] & firstMask & lastMask) != 0) {
+                    return true;
+                }
+                continue;
+            }
+            if ((mask[base + firstWord] & firstMask) != 0 || (mask[base + lastWord] & lastMask) != 0) {
+                return true;
+            }
+            for (int w = firstWord + 1; w < lastWord; w++) {
+                if (mask[base + w] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si el rectángulo en píxeles (x, y, width, height) se solapa con alguna pared,
+     * con la semántica de Rectangle.intersects (bordes que solo se tocan no chocan).
+     */
+    public boolean overlapsWall(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+        // Primer y último tile que el rectángulo solapa de verdad
+        return any(walls,
+                Math.floorDiv(x, tileSize), Math.floorDiv(x + width - 1, tileSize),
+                Math.floorDiv(y, tileSize), Math.floorDiv(y + height - 1, tileSize));
+    }
+
+    boolean isCompiledFrom(int[][] tileMap, int tileSize) {
+        return source == tileMap && this.tileSize == tileSize;
+    }
+
+    public long[] getWalls() { return walls; }
+    public long[] getWallsAndDoors() { return wallsAndDoors; }
+    public int getTileSize() { return tileSize; }
+    public int getCols() { return cols; }
+    public int getRows() { return rows; }
+}
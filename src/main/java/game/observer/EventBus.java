@@ -0,0 +1,314 @@
+package game.observer;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import game.model.GameModel;
+
+/**
+ * Reparte eventos a observadores lentos (p. ej. los que imprimen por consola) sin que el hilo
+ * del juego espere por ellos. Cada suscriptor tiene su propio hilo y su propia cola circular
+ * de huecos reservados al crearla: publicar es escribir un hueco por suscriptor, sin crear
+ * objetos ni tomar locks. El hilo del suscriptor recoge los eventos por lotes y se los pasa a
+ * {@link Observer#onNotifyBatch}.
+ * <p>
+ * El modelo sigue cambiando mientras el suscriptor lee, así que cada hueco guarda también el
+ * número de muertes y el nivel en el momento de publicar; el suscriptor debe usar esos y no
+ * preguntárselos al modelo.
+ * <p>
+ * Qué pasa cuando la cola de un suscriptor se llena lo decide {@link Backpressure}.
+ * Se puede publicar desde varios hilos a la vez (varias partidas con el mismo bus).
+ */
+public class EventBus implements AutoCloseable {
+    public enum Backpressure {
+        /** El evento se pierde (y se cuenta en {@link #getDropped()}). */
+        DROP,
+        /** Quien publica espera a que haya sitio. Ningún evento se pierde, pero el juego puede pararse. */
+        BLOCK,
+        /**
+         * Se guarda solo el último evento de cada tipo y partida, y se entrega en cuanto la
+         * cola se vacía. Mientras haya alguno pendiente, los siguientes también se fusionan
+         * para no adelantar a los anteriores.
+         */
+        COALESCE;
+
+        /**
+         * Política configurada con -Dgame.events=drop|block|coalesce (por defecto COALESCE).
+         */
+        public static Backpressure configured() {
+            return valueOf(System.getProperty("game.events", COALESCE.name()).toUpperCase());
+        }
+    }
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_BATCH = 64;
+    private static final long IDLE_PARK_NANOS = 1_000_000; // Sin eventos, se mira la cola cada ms
+
+    private final int capacity;
+    private final Backpressure policy;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY, Backpressure.configured());
+    }
+
+    /**
+     * @param capacity Eventos que caben en la cola de cada suscriptor (potencia de dos).
+     */
+    public EventBus(int capacity, Backpressure policy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de dos: " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    public void subscribe(Observer observer) {
+        if (closed) {
+            throw new IllegalStateException("El EventBus está cerrado");
+        }
+        Subscription subscription = new Subscription(observer);
+        subscriptions.add(subscription);
+        subscription.thread.start();
+    }
+
+    /**
+     * Deja de entregar eventos al observador. Los que ya estaban en su cola se descartan.
+     */
+    public void unsubscribe(Observer observer) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.observer == observer) {
+                subscriptions.remove(subscription);
+                subscription.stop();
+            }
+        }
+    }
+
+    public void publish(GameModel model, EventType event) {
+        int deathCount = model.getDeathCount();
+        int levelIndex = model.getEventLevelIndex();
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(model, event, deathCount, levelIndex);
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public Backpressure getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.stop();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Cola de un suscriptor: varios productores, un consumidor (su hilo). Cada hueco lleva un
+     * número de secuencia que dice si está libre para el productor de la vuelta 'pos' (== pos)
+     * o listo para el consumidor (== pos + 1), como en la cola acotada de Vyukov.
+     */
+    private final class Subscription implements Runnable {
+        private final Observer observer;
+        private final Thread thread;
+        private final int mask = capacity - 1;
+        private final AtomicLongArray sequence = new AtomicLongArray(capacity);
+        private final GameModel[] models = new GameModel[capacity];
+        private final EventType[] types = new EventType[capacity];
+        private final int[] deathCounts = new int[capacity];
+        private final int[] levelIndexes = new int[capacity];
+        private final AtomicLong tail = new AtomicLong(); // Siguiente hueco a reservar (productores)
+        private long head; // Siguiente hueco a leer; solo lo toca el hilo del suscriptor
+
+        // COALESCE: el último evento de cada partida y tipo que no cupo, en el orden en que se
+        // publicó. Solo se usa con la cola llena, así que aquí sí vale un lock.
+        private final Set<Pending> coalesced = new LinkedHashSet<>();
+        private volatile boolean hasCoalesced;
+
+        // Lote que se entrega al observador; se reutiliza
+        private final GameModel[] batchModels = new GameModel[MAX_BATCH];
+        private final EventType[] batchTypes = new EventType[MAX_BATCH];
+        private final int[] batchDeathCounts = new int[MAX_BATCH];
+        private final int[] batchLevelIndexes = new int[MAX_BATCH];
+        private volatile boolean running = true;
+
+        Subscription(Observer observer) {
+            this.observer = observer;
+            for (int i = 0; i < capacity; i++) {
+                sequence.set(i, i);
+            }
+            this.thread = new Thread(this, "event-bus-" + threadCount.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        void offer(GameModel model, EventType event, int deathCount, int levelIndex) {
+            if (hasCoalesced && policy == Backpressure.COALESCE) {
+                coalesce(model, event, deathCount, levelIndex);
+                return;
+            }
+            while (!tryOffer(model, event, deathCount, levelIndex)) {
+                switch (policy) {
+                    case DROP:
+                        dropped.incrementAndGet();
+                        return;
+                    case COALESCE:
+                        coalesce(model, event, deathCount, levelIndex);
+                        return;
+                    default: // BLOCK
+                        if (!running) {
+                            return;
+                        }
+                        LockSupport.parkNanos(10_000);
+                }
+            }
+        }
+
+        private void coalesce(GameModel model, EventType event, int deathCount, int levelIndex) {
+            Pending pending = new Pending(model, event, deathCount, levelIndex);
+            synchronized (coalesced) {
+                coalesced.remove(pending); // El anterior del mismo tipo; el nuevo va al final
+                coalesced.add(pending);
+                hasCoalesced = true;
+            }
+        }
+
+        private boolean tryOffer(GameModel model, EventType event, int deathCount, int levelIndex) {
+            while (true) {
+                long pos = tail.get();
+                int slot = (int) pos & mask;
+                long difference = sequence.get(slot) - pos;
+                if (difference < 0) {
+                    return false; // Llena: el consumidor aún no ha liberado este hueco
+                }
+                if (difference == 0 && tail.compareAndSet(pos, pos + 1)) {
+                    models[slot] = model;
+                    types[slot] = event;
+                    deathCounts[slot] = deathCount;
+                    levelIndexes[slot] = levelIndex;
+                    sequence.lazySet(slot, pos + 1); // Publica el hueco
+                    return true;
+                }
+                // Otro productor se llevó el hueco: reintentar con el siguiente
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                int count = drain();
+                if (count > 0) {
+                    deliver(count);
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+
+        // Recoge hasta MAX_BATCH eventos de la cola; los fusionados, solo cuando la cola está
+        // vacía, porque son posteriores a todo lo que hay en ella
+        private int drain() {
+            int count = 0;
+            while (count < MAX_BATCH) {
+                int slot = (int) head & mask;
+                if (sequence.get(slot) != head + 1) {
+                    break; // Vacía (o el siguiente aún se está escribiendo)
+                }
+                batchModels[count] = models[slot];
+                batchTypes[count] = types[slot];
+                batchDeathCounts[count] = deathCounts[slot];
+                batchLevelIndexes[count] = levelIndexes[slot];
+                models[slot] = null;
+                sequence.lazySet(slot, head + capacity); // Libre para la siguiente vuelta
+                head++;
+                count++;
+            }
+            if (count == 0 && hasCoalesced) {
+                count = drainCoalesced();
+            }
+            return count;
+        }
+
+        private int drainCoalesced() {
+            synchronized (coalesced) {
+                // Un productor pudo entrar en la cola justo antes de que hubiera algo fusionado
+                if (sequence.get((int) head & mask) == head + 1) {
+                    return 0;
+                }
+                int count = 0;
+                Iterator<Pending> iterator = coalesced.iterator();
+                while (iterator.hasNext() && count < MAX_BATCH) {
+                    Pending pending = iterator.next();
+                    iterator.remove();
+                    batchModels[count] = pending.model;
+                    batchTypes[count] = pending.type;
+                    batchDeathCounts[count] = pending.deathCount;
+                    batchLevelIndexes[count] = pending.levelIndex;
+                    count++;
+                }
+                hasCoalesced = !coalesced.isEmpty();
+                return count;
+            }
+        }
+
+        private void deliver(int count) {
+            try {
+                observer.onNotifyBatch(batchModels, batchTypes, batchDeathCounts, batchLevelIndexes, count);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Un observador que falla no debe parar a los demás
+            }
+            for (int i = 0; i < count; i++) {
+                batchModels[i] = null;
+            }
+        }
+
+        void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // Un evento fusionado; dos son iguales si son de la misma partida y tipo
+    private static final class Pending {
+        final GameModel model;
+        final EventType type;
+        final int deathCount;
+        final int levelIndex;
+
+        Pending(GameModel model, EventType type, int deathCount, int levelIndex) {
+            this.model = model;
+            this.type = type;
+            this.deathCount = deathCount;
+            this.levelIndex = levelIndex;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Pending && ((Pending) other).model == model && ((Pending) other).type == type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(model) * 31 + type.hashCode();
+        }
+    }
+}
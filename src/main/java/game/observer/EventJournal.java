@@ -0,0 +1,253 @@
+package game.observer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import game.model.GameModel;
+
+/**
+ * Guarda cada evento del juego como un registro binario de tamaño fijo en ficheros proyectados
+ * en memoria ("segmentos"). Escribir un registro son unas pocas escrituras en memoria: ni
+ * llamadas al sistema ni objetos por evento; el sistema operativo lleva las páginas a disco.
+ * Cuando un segmento se llena se proyecta el siguiente; el lleno sigue proyectado hasta que
+ * se han escrito todos los registros reservados en él, por lento que vaya quien los escribe.
+ * Se lee con {@link EventJournalReader}.
+ * <p>
+ * Formato (little-endian). Cada segmento {@code events-NNNNNNNNNN.journal} empieza con una
+ * cabecera de {@link #HEADER_SIZE} bytes: int MAGIC, int VERSION, int RECORD_SIZE,
+ * int registros por segmento. Después van los registros, de {@link #RECORD_SIZE} bytes:
+ * <pre>
+ *  0 int   tipo de evento + 1 (0 = hueco sin escribir; se escribe el último)
+ *  4 int   índice del nivel
+ *  8 long  tick del modelo
+ * 16 long  instante en nanosegundos desde 1970
+ * 24 long  id de la sesión (0 en el juego de escritorio)
+ * 32 float x del jugador
+ * 36 float y del jugador
+ * </pre>
+ * Es un {@link Observer} síncrono: el registro se escribe en el hilo del juego, con el tick y
+ * la posición del momento del evento. Varias partidas pueden compartir el mismo diario.
+ */
+public class EventJournal implements Observer, AutoCloseable {
+    // Propiedad del sistema con el directorio del diario; sin ella no se guarda nada
+    public static final String JOURNAL_PROPERTY = "game.journal";
+    public static final int MAGIC = 0x4A474857; // "WHGJ" en little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 40;
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20; // 40 MB por segmento
+    static final String SEGMENT_PREFIX = "events-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    // Escritura del tipo con semántica release: quien lo lea (con acquire) ve el registro entero
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static EventJournal configured;
+    private static boolean configuredResolved;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final long firstSegment;
+    private final AtomicLong nextRecord = new AtomicLong();
+    // Origen para pasar de System.nanoTime() a nanosegundos desde 1970
+    private final long epochOffsetNanos = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    private static final class Segment {
+        final long number;
+        final MappedByteBuffer buffer;
+        final AtomicInteger written = new AtomicInteger(); // Registros ya escritos
+
+        Segment(long number, MappedByteBuffer buffer) {
+            this.number = number;
+            this.buffer = buffer;
+        }
+    }
+
+    private volatile Segment current; // El último proyectado
+    // Los que aún tienen registros reservados sin escribir (current incluido)
+    private final Map<Long, Segment> open = new ConcurrentHashMap<>();
+    private volatile boolean failed;
+
+    public EventJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Abre (o crea) el diario en el directorio. Si ya tiene segmentos se sigue en uno nuevo,
+     * sin tocar los anteriores.
+     */
+    public EventJournal(Path directory, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("recordsPerSegment debe ser positivo: " + recordsPerSegment);
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        Files.createDirectories(directory);
+        List<Path> existing = listSegments(directory);
+        this.firstSegment = existing.isEmpty() ? 0 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        this.current = map(firstSegment);
+        open.put(firstSegment, current);
+    }
+
+    /**
+     * El diario de -Dgame.journal=directorio, compartido por todas las partidas del proceso,
+     * o null si no se pidió. Se cierra (y se vuelca a disco) al salir.
+     */
+    public static synchronized EventJournal configured() {
+        if (!configuredResolved) {
+            configuredResolved = true;
+            String path = System.getProperty(JOURNAL_PROPERTY);
+            if (path != null && !path.isEmpty()) {
+                try {
+                    EventJournal journal = new EventJournal(Paths.get(path));
+                    Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-close"));
+                    configured = journal;
+                } catch (IOException e) {
+                    e.printStackTrace(); // Sin diario se puede seguir jugando
+                }
+            }
+        }
+        return configured;
+    }
+
+    @Override
+    public void onNotify(GameModel model, EventType event) {
+        append(model.getTick(), model.getSessionId(), model.getEventLevelIndex(), event,
+                model.getEventPlayerX(), model.getEventPlayerY());
+    }
+
+    public void append(long tick, long sessionId, int levelIndex, EventType event, float playerX, float playerY) {
+        if (failed) {
+            return;
+        }
+        long record = nextRecord.getAndIncrement();
+        Segment segment = segmentFor(firstSegment + record / recordsPerSegment);
+        if (segment == null) {
+            return;
+        }
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = HEADER_SIZE + (int) (record % recordsPerSegment) * RECORD_SIZE;
+        buffer.putInt(offset + 4, levelIndex);
+        buffer.putLong(offset + 8, tick);
+        buffer.putLong(offset + 16, epochOffsetNanos + System.nanoTime());
+        buffer.putLong(offset + 24, sessionId);
+        buffer.putFloat(offset + 32, playerX);
+        buffer.putFloat(offset + 36, playerY);
+        INT.setRelease(buffer, offset, event.ordinal() + 1);
+        if (segment.written.incrementAndGet() == recordsPerSegment) {
+            // Era el último que faltaba: el segmento, completo, a disco y fuera de la lista
+            open.remove(segment.number);
+            buffer.force();
+        }
+    }
+
+    private Segment segmentFor(long segmentNumber) {
+        Segment segment = current;
+        if (segment.number == segmentNumber) {
+            return segment;
+        }
+        segment = open.get(segmentNumber); // Uno anterior que aún no se ha terminado de escribir
+        if (segment != null) {
+            return segment;
+        }
+        return roll(segmentNumber);
+    }
+
+    // Solo una vez cada recordsPerSegment eventos: el primero que llega al segmento nuevo lo crea
+    private synchronized Segment roll(long segmentNumber) {
+        Segment segment = open.get(segmentNumber);
+        if (segment != null || segmentNumber <= current.number) {
+            return segment; // null solo si falló al proyectarlo
+        }
+        try {
+            // También los intermedios, por si quien reservó en ellos aún no ha llegado
+            for (long number = current.number + 1; number <= segmentNumber; number++) {
+                segment = map(number);
+                open.put(number, segment);
+                current = segment;
+            }
+            return segment;
+        } catch (IOException e) {
+            failed = true; // Se deja de escribir, pero el juego sigue
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private Segment map(long number) throws IOException {
+        Path path = directory.resolve(segmentName(number));
+        long size = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // La proyección sigue siendo válida después de cerrar el canal
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, RECORD_SIZE);
+            buffer.putInt(12, recordsPerSegment);
+            return new Segment(number, buffer);
+        }
+    }
+
+    /**
+     * Vuelca a disco lo escrito hasta ahora en el segmento actual.
+     */
+    public void flush() {
+        Segment segment = current;
+        segment.buffer.force();
+    }
+
+    public long getRecordsWritten() {
+        return nextRecord.get();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : open.values()) {
+            segment.buffer.force();
+        }
+        flush();
+    }
+
+    static String segmentName(long number) {
+        return String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+
+    static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Segmentos del directorio, en orden
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).forEach(segments::add);
+        }
+        segments.sort((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)));
+        return segments;
+    }
+}
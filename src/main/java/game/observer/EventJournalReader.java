@@ -0,0 +1,117 @@
+package game.observer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Recorre los registros de un {@link EventJournal} en orden, segmento a segmento. Es un
+ * cursor: {@link #next()} avanza y los getters leen directamente del fichero proyectado,
+ * sin copiar el registro. Un segmento termina en su primer hueco sin escribir, así que se
+ * puede leer un diario que aún se está escribiendo.
+ * <pre>
+ * try (EventJournalReader reader = new EventJournalReader(dir)) {
+ *     while (reader.next()) {
+ *         if (reader.getEventType() == EventType.PLAYER_DEATH) { ... reader.getPlayerX() ... }
+ *     }
+ * }
+ * </pre>
+ */
+public class EventJournalReader implements AutoCloseable {
+    private static final EventType[] TYPES = EventType.values();
+
+    private final List<Path> segments;
+    private int segmentIndex = -1;
+    private MappedByteBuffer buffer;
+    private int recordsInSegment;
+    private int record = -1; // Registro actual dentro del segmento
+    private int offset;
+
+    public EventJournalReader(Path directory) throws IOException {
+        this.segments = EventJournal.listSegments(directory);
+    }
+
+    /**
+     * @return false cuando no quedan registros.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (buffer != null && record + 1 < recordsInSegment) {
+                int nextOffset = EventJournal.HEADER_SIZE + (record + 1) * EventJournal.RECORD_SIZE;
+                if ((int) EventJournal.INT.getAcquire(buffer, nextOffset) != 0) {
+                    record++;
+                    offset = nextOffset;
+                    return true;
+                }
+            }
+            if (segmentIndex + 1 >= segments.size()) {
+                return false;
+            }
+            openSegment(segments.get(++segmentIndex));
+        }
+    }
+
+    private void openSegment(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < EventJournal.HEADER_SIZE || buffer.getInt(0) != EventJournal.MAGIC) {
+            throw new IOException("No es un segmento del diario de eventos: " + path);
+        }
+        if (buffer.getInt(4) != EventJournal.VERSION || buffer.getInt(8) != EventJournal.RECORD_SIZE) {
+            throw new IOException("Versión del diario no soportada en " + path);
+        }
+        recordsInSegment = Math.min(buffer.getInt(12),
+                (buffer.capacity() - EventJournal.HEADER_SIZE) / EventJournal.RECORD_SIZE);
+        record = -1;
+    }
+
+    public EventType getEventType() { return TYPES[buffer.getInt(offset) - 1]; }
+    public int getLevelIndex() { return buffer.getInt(offset + 4); }
+    public long getTick() { return buffer.getLong(offset + 8); }
+    public long getTimestampNanos() { return buffer.getLong(offset + 16); }
+    public long getSessionId() { return buffer.getLong(offset + 24); }
+    public float getPlayerX() { return buffer.getFloat(offset + 32); }
+    public float getPlayerY() { return buffer.getFloat(offset + 36); }
+    public Path getSegment() { return segments.get(segmentIndex); }
+
+    @Override
+    public void close() {
+        buffer = null; // La proyección se libera cuando el GC recoge el buffer
+    }
+
+    /**
+     * Uso: {@code java game.observer.EventJournalReader <directorio> [-v]}
+     * Imprime cuántos eventos hay de cada tipo, y con -v cada registro.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: java game.observer.EventJournalReader <directorio> [-v]");
+            System.exit(2);
+        }
+        boolean verbose = args.length > 1 && "-v".equals(args[1]);
+        long[] counts = new long[TYPES.length];
+        long total = 0;
+        try (EventJournalReader reader = new EventJournalReader(Paths.get(args[0]))) {
+            while (reader.next()) {
+                counts[reader.getEventType().ordinal()]++;
+                total++;
+                if (verbose) {
+                    System.out.printf("%d sesión=%d tick=%d nivel=%d %s (%.1f, %.1f)%n",
+                            reader.getTimestampNanos(), reader.getSessionId(), reader.getTick(),
+                            reader.getLevelIndex() + 1, reader.getEventType(), reader.getPlayerX(), reader.getPlayerY());
+                }
+            }
+        }
+        System.out.println(total + " eventos");
+        for (EventType type : TYPES) {
+            System.out.printf("  %-15s %d%n", type, counts[type.ordinal()]);
+        }
+    }
+}
@@ -7,4 +7,18 @@ public interface Observer {
     // El método que el Sujeto llamará para notificar un cambio.
     // Pasamos el modelo para que el observador pueda consultar el estado actualizado.
     void onNotify(GameModel model, EventType event);
-}
\ No newline at end of file
+
+    /**
+     * Varios eventos seguidos, en el orden en que ocurrieron (ver {@link EventBus}). Llega
+     * desde otro hilo mientras el juego sigue: el número de muertes y el nivel de cuando se
+     * publicó cada evento van en {@code deathCounts} y {@code levelIndexes}, y al modelo no
+     * hay que preguntarle nada que cambie. Los arrays se reutilizan: no deben guardarse
+     * después de volver. Por defecto llama a {@link #onNotify} con cada uno.
+     */
+    default void onNotifyBatch(GameModel[] models, EventType[] events, int[] deathCounts, int[] levelIndexes,
+            int count) {
+        for (int i = 0; i < count; i++) {
+            onNotify(models[i], events[i]);
+        }
+    }
+}
@@ -1,27 +1,52 @@
 package game.observer;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import game.model.GameModel;
+import game.utils.FrameTimings;
 
 public class Subject {
-    // La lista de suscriptores (observadores).
-    private final List<Observer> observers = new ArrayList<>();
+    // La lista de suscriptores (observadores). La vista se suscribe desde el hilo de dibujo
+    // mientras el juego notifica desde el suyo, así que se copia al modificarla.
+    private final List<Observer> observers = new CopyOnWriteArrayList<>();
+    // Observadores que reciben los eventos en su propio hilo (se crea con el primero)
+    private volatile EventBus asyncBus;
 
     // Método para que un observador se suscriba.
     public void addObserver(Observer observer) {
         observers.add(observer);
     }
 
+    /**
+     * Suscribe un observador lento (que imprime, escribe en disco...) a través de un
+     * {@link EventBus}: notifyObservers solo deja el evento en su cola y vuelve.
+     */
+    public synchronized void addAsyncObserver(Observer observer) {
+        if (asyncBus == null) {
+            asyncBus = new EventBus();
+        }
+        asyncBus.subscribe(observer);
+    }
+
     // Método para que un observador se desuscriba.
     public void removeObserver(Observer observer) {
         observers.remove(observer);
+        EventBus bus = asyncBus;
+        if (bus != null) {
+            bus.unsubscribe(observer);
+        }
     }
 
     // Notifica a TODOS los observadores suscritos.
     public void notifyObservers(GameModel model, EventType event) {
+        long start = FrameTimings.start();
         for (Observer observer : observers) {
             observer.onNotify(model, event);
         }
+        EventBus bus = asyncBus;
+        if (bus != null) {
+            bus.publish(model, event);
+        }
+        FrameTimings.stop(FrameTimings.Phase.OBSERVERS, start);
     }
 }
\ No newline at end of file
@@ -2,24 +2,43 @@ package game.observer;
 
 import game.model.GameModel;
 
+// Se suscribe a través del EventBus (ver Subject.addAsyncObserver): imprimir puede bloquearse
+// con una terminal lenta, y así el que espera es el hilo del bus y no el del juego.
 public class UIUpdater implements Observer {
+    private final StringBuilder lines = new StringBuilder();
+
     @Override
     public void onNotify(GameModel model, EventType event) {
-        switch (event) {
-            case PLAYER_DEATH:
-                System.out.println("[OBSERVER] UI: Actualizando contador de muertes a " + model.getDeathCount());
-                break;
-            case COIN_COLLECTED:
-                System.out.println("[OBSERVER] UI: Actualizando contador de monedas.");
-                break;
-            case LEVEL_COMPLETE:
-                System.out.println("[OBSERVER] UI: Mostrando mensaje de 'Nivel Completado!'");
-                break;
-            case GAME_COMPLETE:
-                 System.out.println("[OBSERVER] UI: Mostrando pantalla de 'Juego Terminado!'");
-                 break;
-            default:
-                break;
+        onNotifyBatch(new GameModel[] {model}, new EventType[] {event}, new int[] {model.getDeathCount()},
+                new int[] {model.getEventLevelIndex()}, 1);
+    }
+
+    // Un lote entero se imprime de una vez
+    @Override
+    public void onNotifyBatch(GameModel[] models, EventType[] events, int[] deathCounts, int[] levelIndexes,
+            int count) {
+        lines.setLength(0);
+        for (int i = 0; i < count; i++) {
+            switch (events[i]) {
+                case PLAYER_DEATH:
+                    lines.append("[OBSERVER] UI: Actualizando contador de muertes a ").append(deathCounts[i]).append('\n');
+                    break;
+                case COIN_COLLECTED:
+                    lines.append("[OBSERVER] UI: Actualizando contador de monedas.\n");
+                    break;
+                case LEVEL_COMPLETE:
+                    lines.append("[OBSERVER] UI: Mostrando mensaje de 'Nivel Completado!'\n");
+                    break;
+                case GAME_COMPLETE:
+                    lines.append("[OBSERVER] UI: Mostrando pantalla de 'Juego Terminado!'\n");
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (lines.length() > 0) {
+            System.out.print(lines);
+            System.out.flush();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package game.utils;
+
+import java.io.PrintStream;
+
+/**
+ * Mide cuánto tarda cada fase de un frame (actualizar el modelo, colisiones, avisar a los
+ * observadores y dibujar) en un {@link LatencyHistogram} por fase, y cuánto espera cada
+ * tecla hasta que la aplica un tick.
+ * <p>
+ * Se activa con {@code -Dgame.timings=true}: al salir del programa se imprimen p50, p99, p99.9
+ * y máximo de cada fase. Con {@code -Dgame.timings=overlay} además se muestran en pantalla.
+ * Desactivado, {@link #start()} y {@link #stop} no hacen nada (el JIT los elimina).
+ */
+public final class FrameTimings {
+    public enum Phase {
+        MODEL_UPDATE("GameModel.update"),
+        COLLISIONS("checkCollisions"),
+        OBSERVERS("notifyObservers"),
+        RENDER("renderGame"),
+        INPUT("input -> tick"); // Desde que llega una tecla hasta que la aplica un tick
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    public static final boolean ENABLED;
+    public static final boolean OVERLAY;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[PHASES.length];
+
+    static {
+        String mode = System.getProperty("game.timings", "false");
+        OVERLAY = "overlay".equalsIgnoreCase(mode);
+        ENABLED = OVERLAY || Boolean.parseBoolean(mode);
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(System.err), "timings-dump"));
+        }
+    }
+
+    private FrameTimings() {
+    }
+
+    /**
+     * @return El instante de inicio de la fase, para pasárselo a {@link #stop}.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static void stop(Phase phase, long start) {
+        if (ENABLED) {
+            HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    public static LatencyHistogram get(Phase phase) {
+        return HISTOGRAMS[phase.ordinal()];
+    }
+
+    /**
+     * Una línea por fase: muestras, p50, p99, p99.9 y máximo en microsegundos.
+     */
+    public static String formatLine(Phase phase) {
+        LatencyHistogram histogram = get(phase);
+        return String.format("%-17s n=%-8d p50=%8.1f p99=%8.1f p99.9=%8.1f max=%9.1f us",
+                phase.getLabel(), histogram.getCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMax() / 1000.0);
+    }
+
+    public static void dump(PrintStream out) {
+        out.println("--- Tiempos por fase ---");
+        for (Phase phase : PHASES) {
+            out.println(formatLine(phase));
+        }
+    }
+}
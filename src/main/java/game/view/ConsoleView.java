@@ -1,106 +1,16 @@
 package game.view;
 
-import game.model.Coin;
 import game.model.GameModel;
-import game.model.Level;
-import game.model.Obstacle;
-import game.model.Player;
 
 public class ConsoleView {
+    // Guarda lo que hay en pantalla entre frames para escribir solo lo que cambia
+    private final TerminalRenderer renderer = TerminalRenderer.forSystemOut();
 
     /**
      * Dibuja el estado completo del juego en la consola.
      */
     public void render(GameModel model) {
-        if (model == null || model.getCurrentLevel() == null) {
-            System.out.println("Cargando...");
-            return;
-        }
-
-        Level level = model.getCurrentLevel();
-        int[][] tileMap = level.getTileMap();
-        int tileSize = level.getTileSize();
-        
-        // Para simplificar, asumimos un tamaño de celda. Los cálculos convierten
-        // las coordenadas del juego (pixeles) a posiciones de la grilla de la consola.
-        int consoleRows = 20; // Alto de la consola en caracteres
-        int consoleCols = 40; // Ancho de la consola en caracteres
-        
-        char[][] consoleBuffer = new char[consoleRows][consoleCols];
-
-        // 1. Dibuja el fondo y las paredes
-        for (int i = 0; i < consoleRows; i++) {
-            for (int j = 0; j < consoleCols; j++) {
-                // Mapea la coordenada de la consola a la del tileMap
-                int mapRow = i * (tileMap.length) / consoleRows;
-                int mapCol = j * (tileMap[0].length) / consoleCols;
-                
-                if (level.getTileMap()[mapRow][mapCol] == 1) {
-                    consoleBuffer[i][j] = '#'; // Pared
-                } else if (level.getTileMap()[mapRow][mapCol] == 2 && !level.areDoorsOpen()) {
-                    consoleBuffer[i][j] = 'D'; // Puerta cerrada
-                } else {
-                    consoleBuffer[i][j] = '.'; // Espacio vacío
-                }
-            }
-        }
-
-        // 2. Dibuja los elementos del juego sobre el buffer
-        Player player = level.getPlayer();
-        int playerCol = (int) (player.getX() / tileSize * consoleCols / (tileMap[0].length));
-        int playerRow = (int) (player.getY() / tileSize * consoleRows / (tileMap.length));
-        placeInBuffer(consoleBuffer, playerRow, playerCol, 'P');
-
-        for (Coin coin : level.getCoins()) {
-            if (!coin.isCollected()) {
-                int coinCol = (int) (coin.getX() / tileSize * consoleCols / (tileMap[0].length));
-                int coinRow = (int) (coin.getY() / tileSize * consoleRows / (tileMap.length));
-                placeInBuffer(consoleBuffer, coinRow, coinCol, 'o');
-            }
-        }
-        
-        for (Obstacle obstacle : level.getObstacles()) {
-            int obsCol = (int) (obstacle.getX() / tileSize * consoleCols / (tileMap[0].length));
-            int obsRow = (int) (obstacle.getY() / tileSize * consoleRows / (tileMap.length));
-            placeInBuffer(consoleBuffer, obsRow, obsCol, 'X');
-        }
-        
-        if (level.getKey() != null && !level.getKey().isCollected()) {
-             int keyCol = (int) (level.getKey().getX() / tileSize * consoleCols / (tileMap[0].length));
-             int keyRow = (int) (level.getKey().getY() / tileSize * consoleRows / (tileMap.length));
-             placeInBuffer(consoleBuffer, keyRow, keyCol, 'K');
-        }
-
-        int goalCol = (int) (level.getGoal().getX() / tileSize * consoleCols / (tileMap[0].length));
-        int goalRow = (int) (level.getGoal().getY() / tileSize * consoleRows / (tileMap.length));
-        placeInBuffer(consoleBuffer, goalRow, goalCol, 'G');
-
-        // 3. Imprime el buffer final a la consola
-        clearConsole();
-        System.out.println("--- World's Hardest Game (Consola) ---");
-        System.out.println("Nivel: " + (model.getCurrentLevelIndex() + 1) + " | Muertes: " + model.getDeathCount());
-
-        if (model.isGameOver()) {
-            System.out.println("\n--- Top 10 Jugadores ---");
-            for (int i = 0; i < model.getTopTen().size(); i++) {
-                System.out.println((i + 1) + ". " + model.getTopTen().get(i));
-            }
-        }
-        
-        for (int i = 0; i < consoleRows; i++) {
-            for (int j = 0; j < consoleCols; j++) {
-                System.out.print(consoleBuffer[i][j] + " ");
-            }
-            System.out.println();
-        }
-        System.out.println("Comandos: [W] Arriba, [A] Izquierda, [S] Abajo, [D] Derecha, [Q] Salir");
-    }
-
-    // Método de ayuda para no salirse de los límites del buffer
-    private void placeInBuffer(char[][] buffer, int row, int col, char c) {
-        if (row >= 0 && row < buffer.length && col >= 0 && col < buffer[0].length) {
-            buffer[row][col] = c;
-        }
+        renderer.render(model);
     }
 
     // Este método intenta limpiar la consola. Funciona en terminales reales,
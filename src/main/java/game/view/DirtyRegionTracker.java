@@ -0,0 +1,246 @@
+package game.view;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import game.model.Coin;
+import game.model.Config;
+import game.model.GameModel;
+import game.model.Key;
+import game.model.Level;
+import game.model.ObstacleField;
+import game.model.Player;
+
+/**
+ * Calcula qué partes de la ventana han cambiado desde el último frame para repintar solo
+ * esas. Guarda los rectángulos de todo lo que se movió o desapareció (jugador, obstáculos,
+ * monedas, llave) en el frame anterior y en este, los tiles de puerta si cambió su estado
+ * y el header si cambió su texto. Las zonas se marcan en una rejilla de celdas y se
+ * devuelven como unos pocos rectángulos.
+ * <p>
+ * Hay que llamar a {@link #collect} en el hilo que actualiza el modelo, justo después de cada
+ * tick, para que lea un estado completo. Cada objeto que se mueve se amplía con lo que se
+ * movió en el último tick: así la zona también cubre dónde estará si se pinta un tick tarde.
+ */
+class DirtyRegionTracker {
+    private static final int CELL_SIZE = 20;
+    private static final int COLS = (Config.WINDOW_WIDTH + CELL_SIZE - 1) / CELL_SIZE;
+    private static final int ROWS = (Config.WINDOW_HEIGHT + CELL_SIZE - 1) / CELL_SIZE;
+    // Margen alrededor de cada objeto para el redondeo al dibujar (lo que se mueve va aparte)
+    private static final int MARGIN = 2;
+    // Con más rectángulos que estos, o más de esta fracción de celdas, se repinta todo
+    private static final int MAX_REGIONS = 24;
+    private static final float MAX_DIRTY_FRACTION = 0.6f;
+
+    private final boolean[] dirtyCells = new boolean[COLS * ROWS];
+    private int dirtyCount;
+
+    // Rectángulos (x, y, ancho, alto) dibujados en el frame anterior y en el actual
+    private int[] previous = new int[64];
+    private int previousCount;
+    private int[] current = new int[64];
+    private int currentCount;
+
+    private Level lastLevel;
+    private boolean lastDoorsOpen;
+    private boolean lastGameOver;
+    private int lastLevelIndex = -1, lastCoins = -1, lastTotalCoins = -1, lastDeaths = -1;
+
+    /**
+     * Calcula las zonas a repintar para el estado actual del modelo.
+     * @return Los rectángulos a repintar (en coordenadas del panel), o null si hay que repintar todo.
+     */
+    List<Rectangle> collect(GameModel model) {
+        Level level = model.getCurrentLevel();
+        boolean repaintAll = level != lastLevel || model.isGameOver() != lastGameOver;
+        lastLevel = level;
+        lastGameOver = model.isGameOver();
+
+        currentCount = 0;
+        if (level != null) {
+            collectMovingBounds(level);
+        }
+        if (repaintAll) {
+            swapBounds();
+            lastDoorsOpen = level != null && level.areDoorsOpen();
+            updateHeaderState(model);
+            return null;
+        }
+
+        Arrays.fill(dirtyCells, false);
+        dirtyCount = 0;
+        for (int i = 0; i < previousCount; i += 4) {
+            markPlayArea(previous[i], previous[i + 1], previous[i + 2], previous[i + 3]);
+        }
+        for (int i = 0; i < currentCount; i += 4) {
+            markPlayArea(current[i], current[i + 1], current[i + 2], current[i + 3]);
+        }
+        swapBounds();
+
+        if (level != null && level.areDoorsOpen() != lastDoorsOpen) {
+            lastDoorsOpen = level.areDoorsOpen();
+            markDoorTiles(level);
+        }
+        if (updateHeaderState(model)) {
+            mark(0, 0, Config.WINDOW_WIDTH, Config.HEADER_HEIGHT);
+        }
+
+        if (dirtyCount > dirtyCells.length * MAX_DIRTY_FRACTION) {
+            return null;
+        }
+        return toRegions();
+    }
+
+    private void collectMovingBounds(Level level) {
+        Player player = level.getPlayer();
+        if (player != null) {
+            addMovingBounds(player.getX(), player.getY(), player.getInterpolatedX(0f), player.getInterpolatedY(0f),
+                    player.getSize());
+        }
+        ObstacleField obstacles = level.getObstacleField();
+        if (obstacles != null) {
+            for (int i = 0; i < obstacles.size(); i++) {
+                int radius = obstacles.getRadius(i);
+                addMovingBounds(obstacles.getX(i) - radius, obstacles.getY(i) - radius,
+                        obstacles.getInterpolatedX(i, 0f) - radius, obstacles.getInterpolatedY(i, 0f) - radius, radius * 2);
+            }
+        }
+        // Monedas y llave solo cambian al recogerse: basta con que estén en el frame anterior
+        for (Coin coin : level.getCoins()) {
+            if (!coin.isCollected()) {
+                int radius = coin.getRadius();
+                addBounds((int) (coin.getX() - radius), (int) (coin.getY() - radius), radius * 2, radius * 2);
+            }
+        }
+        Key key = level.getKey();
+        if (key != null && !key.isCollected()) {
+            Rectangle bounds = key.getBounds();
+            addBounds(bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+    }
+
+    // Un cuadrado en (x, y) que en el último tick vino de (previousX, previousY): se amplía por
+    // cada lado con ese desplazamiento, que es lo que se moverá en el siguiente
+    private void addMovingBounds(float x, float y, float previousX, float previousY, int size) {
+        int dx = (int) Math.ceil(Math.abs(x - previousX));
+        int dy = (int) Math.ceil(Math.abs(y - previousY));
+        addBounds((int) Math.floor(x) - dx, (int) Math.floor(y) - dy, size + 1 + 2 * dx, size + 1 + 2 * dy);
+    }
+
+    private void addBounds(int x, int y, int width, int height) {
+        if (currentCount + 4 > current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[currentCount++] = x;
+        current[currentCount++] = y;
+        current[currentCount++] = width;
+        current[currentCount++] = height;
+    }
+
+    private void swapBounds() {
+        int[] swap = previous;
+        previous = current;
+        previousCount = currentCount;
+        current = swap;
+        currentCount = 0;
+    }
+
+    private void markDoorTiles(Level level) {
+        int[][] tileMap = level.getTileMap();
+        if (tileMap == null) {
+            return;
+        }
+        int tileSize = level.getTileSize();
+        for (int i = 0; i < tileMap.length; i++) {
+            for (int j = 0; j < tileMap[i].length; j++) {
+                if (tileMap[i][j] == Config.TILE_DOOR) {
+                    markPlayArea(j * tileSize, i * tileSize, tileSize, tileSize);
+                }
+            }
+        }
+    }
+
+    // Las coordenadas del nivel empiezan debajo del header
+    private void markPlayArea(int x, int y, int width, int height) {
+        mark(x - MARGIN, y + Config.HEADER_HEIGHT - MARGIN, width + 2 * MARGIN, height + 2 * MARGIN);
+    }
+
+    private void mark(int x, int y, int width, int height) {
+        int fromCol = Math.max(0, Math.floorDiv(x, CELL_SIZE));
+        int toCol = Math.min(COLS - 1, Math.floorDiv(x + width - 1, CELL_SIZE));
+        int fromRow = Math.max(0, Math.floorDiv(y, CELL_SIZE));
+        int toRow = Math.min(ROWS - 1, Math.floorDiv(y + height - 1, CELL_SIZE));
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int col = fromCol; col <= toCol; col++) {
+                int cell = row * COLS + col;
+                if (!dirtyCells[cell]) {
+                    dirtyCells[cell] = true;
+                    dirtyCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Convierte las celdas marcadas en rectángulos: tramos horizontales de cada fila,
+     * unidos con el tramo igual de la fila de abajo.
+     * @return null si salen demasiados rectángulos (sale más barato repintar todo).
+     */
+    private List<Rectangle> toRegions() {
+        List<Rectangle> regions = new ArrayList<>();
+        for (int row = 0; row < ROWS; row++) {
+            int col = 0;
+            while (col < COLS) {
+                if (!dirtyCells[row * COLS + col]) {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                while (col < COLS && dirtyCells[row * COLS + col]) {
+                    dirtyCells[row * COLS + col] = false;
+                    col++;
+                }
+                // Bajar mientras la fila siguiente tenga exactamente el mismo tramo
+                int endRow = row + 1;
+                while (endRow < ROWS && isExactSpan(endRow, start, col)) {
+                    Arrays.fill(dirtyCells, endRow * COLS + start, endRow * COLS + col, false);
+                    endRow++;
+                }
+                if (regions.size() == MAX_REGIONS) {
+                    return null;
+                }
+                regions.add(new Rectangle(start * CELL_SIZE, row * CELL_SIZE,
+                        (col - start) * CELL_SIZE, (endRow - row) * CELL_SIZE));
+            }
+        }
+        return regions;
+    }
+
+    private boolean isExactSpan(int row, int start, int end) {
+        int base = row * COLS;
+        for (int col = start; col < end; col++) {
+            if (!dirtyCells[base + col]) {
+                return false;
+            }
+        }
+        boolean openLeft = start == 0 || !dirtyCells[base + start - 1];
+        boolean openRight = end == COLS || !dirtyCells[base + end];
+        return openLeft && openRight;
+    }
+
+    // Devuelve true si cambió algo de lo que muestra el header
+    private boolean updateHeaderState(GameModel model) {
+        Level level = model.getCurrentLevel();
+        int coins = level != null ? level.getNumberOfCurrentlyCollectedCoinsInLevel() : 0;
+        int totalCoins = level != null ? level.getTotalCoinsInLevel() : 0;
+        boolean changed = model.getCurrentLevelIndex() != lastLevelIndex || coins != lastCoins
+                || totalCoins != lastTotalCoins || model.getDeathCount() != lastDeaths;
+        lastLevelIndex = model.getCurrentLevelIndex();
+        lastCoins = coins;
+        lastTotalCoins = totalCoins;
+        lastDeaths = model.getDeathCount();
+        return changed;
+    }
+}
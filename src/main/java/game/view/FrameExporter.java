@@ -0,0 +1,362 @@
+package game.view;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import game.controller.InputSource;
+import game.controller.Simulator;
+import game.model.Config;
+import game.model.GameModel;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Exporta partidas a imágenes sin ventana: simula el juego a paso fijo con un {@link Simulator},
+ * dibuja cada frame con {@link GameView} en una imagen fuera de pantalla y lo guarda como
+ * secuencia PNG o como GIF animado.
+ * <p>
+ * La simulación y el dibujo van en el hilo que llama (el modelo no es thread-safe); la
+ * codificación se reparte en un pool de hilos. Como mucho hay {@code maxInFlight} frames
+ * pendientes de codificar: al llegar al límite se espera al más antiguo antes de dibujar otro,
+ * así la memoria no crece aunque codificar sea más lento que dibujar.
+ */
+public class FrameExporter {
+    private final GameModel model;
+    private final Simulator simulator;
+    private final GameView view = new GameView();
+    private final int ticksPerFrame;
+    private final int workers;
+    private final int maxInFlight;
+
+    /**
+     * @param ticksPerFrame Ticks simulados entre un frame y el siguiente (1 = 60 FPS).
+     */
+    public FrameExporter(GameModel model, InputSource input, int ticksPerFrame) {
+        this(model, input, ticksPerFrame, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public FrameExporter(GameModel model, InputSource input, int ticksPerFrame, int workers) {
+        if (ticksPerFrame < 1 || workers < 1) {
+            throw new IllegalArgumentException("ticksPerFrame y workers deben ser al menos 1");
+        }
+        this.model = model;
+        this.simulator = new Simulator(model, input);
+        this.ticksPerFrame = ticksPerFrame;
+        this.workers = workers;
+        this.maxInFlight = workers * 2;
+    }
+
+    /**
+     * Escribe hasta {@code frames} frames como {@code frame_00000.png}, {@code frame_00001.png}...
+     * Para antes si el juego termina.
+     * @return Los frames escritos.
+     */
+    public int exportPng(Path directory, int frames) throws IOException {
+        Files.createDirectories(directory);
+        // Cada frame se codifica y se escribe entero en su hilo: no hay nada que escribir en orden
+        return export(frames, new FrameSink<Void>() {
+            @Override
+            public Callable<Void> encode(int index, BufferedImage frame) {
+                Path file = directory.resolve(String.format("frame_%05d.png", index));
+                return () -> {
+                    ImageIO.write(frame, "png", file.toFile());
+                    return null;
+                };
+            }
+
+            @Override
+            public void write(Void encoded) {
+            }
+        });
+    }
+
+    /**
+     * Escribe hasta {@code frames} frames en un GIF animado que se repite sin fin.
+     * Los hilos pasan cada frame a color indexado; la compresión del GIF la hace ImageIO
+     * en orden, en el hilo que llama.
+     * @return Los frames escritos.
+     */
+    public int exportGif(Path file, int frames) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("gif");
+        if (!writers.hasNext()) {
+            throw new IOException("No hay un ImageWriter de GIF disponible");
+        }
+        ImageWriter writer = writers.next();
+        Files.deleteIfExists(file);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            if (output == null) {
+                throw new IOException("No se puede escribir en " + file);
+            }
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+            // Los GIF cuentan el retardo en centésimas; por debajo de 2 muchos visores lo ignoran
+            int delay = Math.max(2, Math.round(ticksPerFrame * 100f / Config.TICKS_PER_SECOND));
+            int written = export(frames, new FrameSink<BufferedImage>() {
+                private boolean first = true;
+
+                @Override
+                public Callable<BufferedImage> encode(int index, BufferedImage frame) {
+                    return () -> toIndexed(frame);
+                }
+
+                @Override
+                public void write(BufferedImage indexed) throws IOException {
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    IIOMetadata metadata = gifMetadata(writer, param, indexed, delay, first);
+                    writer.writeToSequence(new IIOImage(indexed, null, metadata), param);
+                    first = false;
+                }
+            });
+            writer.endWriteSequence();
+            return written;
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Qué hacer con cada frame: {@link #encode} se ejecuta en el pool y {@link #write} en el
+     * hilo que llama, en el orden de los frames.
+     */
+    private interface FrameSink<T> {
+        Callable<T> encode(int index, BufferedImage frame);
+
+        void write(T encoded) throws IOException;
+    }
+
+    private <T> int export(int frames, FrameSink<T> sink) throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "frame-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Un frame no se reutiliza hasta que el que lo usaba maxInFlight frames atrás está codificado
+        BufferedImage[] buffers = new BufferedImage[maxInFlight];
+        ArrayDeque<Future<T>> pending = new ArrayDeque<>();
+        int rendered = 0;
+        try {
+            while (rendered < frames) {
+                if (pending.size() == maxInFlight) {
+                    sink.write(await(pending.poll()));
+                }
+                int slot = rendered % maxInFlight;
+                if (buffers[slot] == null) {
+                    buffers[slot] = new BufferedImage(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+                }
+                render(buffers[slot]);
+                pending.add(pool.submit(sink.encode(rendered, buffers[slot])));
+                rendered++;
+
+                if (model.isGameOver()) {
+                    break; // El último frame ya muestra la pantalla final
+                }
+                for (int i = 0; i < ticksPerFrame && !model.isGameOver(); i++) {
+                    simulator.step();
+                }
+            }
+            while (!pending.isEmpty()) {
+                sink.write(await(pending.poll()));
+            }
+            return rendered;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void render(BufferedImage frame) {
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            view.renderGame(g2d, model);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Exportación interrumpida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error al codificar un frame", cause);
+        }
+    }
+
+    /**
+     * Pasa un frame RGB a color indexado. El juego dibuja sin antialiasing, así que casi
+     * siempre tiene menos de 256 colores y la paleta sale exacta; si no, se usa la paleta
+     * por defecto de Java (colores aproximados).
+     */
+    static BufferedImage toIndexed(BufferedImage frame) {
+        int width = frame.getWidth();
+        int height = frame.getHeight();
+        int[] rgb = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+
+        // Tabla hash de colores -> índice de la paleta (direccionamiento abierto)
+        int[] keys = new int[512];
+        int[] indices = new int[512];
+        Arrays.fill(indices, -1);
+        int[] palette = new int[256];
+        int colors = 0;
+        byte[] pixels = new byte[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            int color = rgb[i] & 0xFFFFFF;
+            int slot = (color * 0x9E3779B1) >>> 23;
+            while (indices[slot] >= 0 && keys[slot] != color) {
+                slot = (slot + 1) & 511;
+            }
+            if (indices[slot] < 0) {
+                if (colors == palette.length) {
+                    return toDefaultPalette(frame);
+                }
+                keys[slot] = color;
+                indices[slot] = colors;
+                palette[colors++] = color;
+            }
+            pixels[i] = (byte) indices[slot];
+        }
+
+        byte[] r = new byte[colors], g = new byte[colors], b = new byte[colors];
+        for (int i = 0; i < colors; i++) {
+            r[i] = (byte) (palette[i] >> 16);
+            g[i] = (byte) (palette[i] >> 8);
+            b[i] = (byte) palette[i];
+        }
+        IndexColorModel colorModel = new IndexColorModel(8, colors, r, g, b);
+        WritableRaster raster = Raster.createInterleavedRaster(new DataBufferByte(pixels, pixels.length),
+                width, height, width, 1, new int[] { 0 }, null);
+        return new BufferedImage(colorModel, raster, false, null);
+    }
+
+    private static BufferedImage toDefaultPalette(BufferedImage frame) {
+        BufferedImage indexed = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_BYTE_INDEXED);
+        Graphics2D g2d = indexed.createGraphics();
+        try {
+            g2d.drawImage(frame, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return indexed;
+    }
+
+    private static IIOMetadata gifMetadata(ImageWriter writer, ImageWriteParam param, BufferedImage image,
+            int delay, boolean first) throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", Integer.toString(delay));
+        control.setAttribute("transparentColorIndex", "0");
+
+        // Sin metadatos del stream ImageIO escribe una paleta global genérica: cada frame
+        // lleva la suya propia
+        IIOMetadataNode colorTable = child(root, "LocalColorTable");
+        IndexColorModel colorModel = (IndexColorModel) image.getColorModel();
+        int tableSize = 2;
+        while (tableSize < colorModel.getMapSize()) {
+            tableSize <<= 1;
+        }
+        while (colorTable.getFirstChild() != null) {
+            colorTable.removeChild(colorTable.getFirstChild());
+        }
+        colorTable.setAttribute("sizeOfLocalColorTable", Integer.toString(tableSize));
+        colorTable.setAttribute("sortFlag", "FALSE");
+        for (int i = 0; i < tableSize; i++) {
+            int rgb = (i < colorModel.getMapSize()) ? colorModel.getRGB(i) : 0;
+            IIOMetadataNode entry = new IIOMetadataNode("ColorTableEntry");
+            entry.setAttribute("index", Integer.toString(i));
+            entry.setAttribute("red", Integer.toString((rgb >> 16) & 0xFF));
+            entry.setAttribute("green", Integer.toString((rgb >> 8) & 0xFF));
+            entry.setAttribute("blue", Integer.toString(rgb & 0xFF));
+            colorTable.appendChild(entry);
+        }
+
+        if (first) {
+            // Extensión NETSCAPE2.0: repetir la animación sin fin
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] { 1, 0, 0 });
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (root.item(i).getNodeName().equals(name)) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+
+    /**
+     * Uso: {@code java game.view.FrameExporter <png|gif> <salida> [frames] [nivel] [ticksPorFrame]}
+     * Exporta el nivel indicado (empezando en 1) sin entrada del jugador: solo se mueven los obstáculos.
+     */
+    public static void main(String[] args) throws IOException, LevelLoadException {
+        if (args.length < 2) {
+            System.out.println("Uso: FrameExporter <png|gif> <salida> [frames] [nivel] [ticksPorFrame]");
+            return;
+        }
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        boolean gif = "gif".equalsIgnoreCase(args[0]);
+        Path output = Paths.get(args[1]);
+        int frames = (args.length > 2) ? Integer.parseInt(args[2]) : 300;
+        int level = (args.length > 3) ? Integer.parseInt(args[3]) - 1 : 0;
+        // En GIF 60 FPS no se puede representar (retardo mínimo de 2 centésimas): por defecto 30
+        int ticksPerFrame = (args.length > 4) ? Integer.parseInt(args[4]) : (gif ? 2 : 1);
+
+        GameModel model = new GameModel();
+        if (level > 0) {
+            model.loadLevel(level);
+        }
+        FrameExporter exporter = new FrameExporter(model, InputSource.IDLE, ticksPerFrame);
+        long start = System.nanoTime();
+        int written = gif ? exporter.exportGif(output, frames) : exporter.exportPng(output, frames);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%d frames en %.1f ms (%.0f frames/s) -> %s%n",
+                written, elapsed / 1_000_000.0, written * 1_000_000_000.0 / elapsed, output);
+    }
+}
@@ -0,0 +1,71 @@
+package game.view;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
+
+import game.controller.InputHandler;
+import game.model.Config;
+import game.model.GameModel;
+import game.utils.FrameTimings;
+
+/**
+ * Alternativa a {@link GamePanel} para el renderizado activo: en vez de pedir un repaint()
+ * y esperar a que Swing pinte, el hilo del game loop dibuja cada frame él mismo en un
+ * BufferStrategy y lo muestra en el momento (ver game.controller.GameLoop).
+ */
+public class GameCanvas extends Canvas {
+    private static final int BUFFERS = 2;
+
+    private final GameView gameView = new GameView();
+    private final TimingOverlay timingOverlay = FrameTimings.OVERLAY ? new TimingOverlay() : null;
+
+    /**
+     * @param input El {@link InputHandler} del controlador de la partida.
+     */
+    public GameCanvas(InputHandler input) {
+        setPreferredSize(new Dimension(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT));
+        setIgnoreRepaint(true); // Lo pinta solo el game loop
+        setFocusable(true);
+        addKeyListener(input);
+    }
+
+    /**
+     * Crea el BufferStrategy. Se llama con la ventana ya visible.
+     */
+    public void initBuffers() {
+        createBufferStrategy(BUFFERS);
+    }
+
+    /**
+     * Dibuja y muestra un frame.
+     * @param alpha Fracción del tick transcurrida, para interpolar los objetos móviles.
+     */
+    public void render(GameModel model, float alpha) {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null || model == null) {
+            return;
+        }
+        // El contenido de los buffers se puede perder (p. ej. al minimizar): se repite el frame
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    AffineTransform transform = (timingOverlay != null) ? g2d.getTransform() : null;
+                    gameView.renderGame(g2d, model, alpha);
+                    if (timingOverlay != null) {
+                        g2d.setTransform(transform);
+                        timingOverlay.draw(g2d);
+                    }
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // Evita que el sistema de ventanas retrase el frame
+    }
+}
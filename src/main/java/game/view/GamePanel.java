@@ -2,20 +2,35 @@
 package game.view;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import game.controller.GameController;
-import game.controller.InputHandler;
 import game.model.Config;
 import game.model.GameModel;
+import game.utils.FrameTimings;
 
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.List;
 
 public class GamePanel extends JPanel {
 
     private final GameView gameView; // La vista que sabe dibujar componentes
     private final GameController controller; // Referencia al controlador
+    // Zonas acumuladas desde el último pintado; con más que estas se repinta todo
+    private static final int MAX_PENDING_REGIONS = 48;
+
+    private final DirtyRegionTracker dirtyRegions = new DirtyRegionTracker(); // Solo en el hilo del juego
+    private final Object pendingLock = new Object();
+    private List<Rectangle> pendingRegions = new ArrayList<>(); // Protegidas por pendingLock
+    private boolean pendingRepaintAll;
+    private boolean paintScheduled;
+    private List<Rectangle> paintingRegions = new ArrayList<>(); // Solo en el EDT
+    private final TimingOverlay timingOverlay = FrameTimings.OVERLAY ? new TimingOverlay() : null;
 
     public GamePanel(GameController controller) {
         this.controller = controller;
@@ -24,7 +39,7 @@ public class GamePanel extends JPanel {
         this.setPreferredSize(new Dimension(Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT));
 
         setFocusable(true);
-        addKeyListener(InputHandler.getInstance());
+        addKeyListener(controller.getInputHandler());
     }
 
     @Override
@@ -37,7 +52,71 @@ public class GamePanel extends JPanel {
 
         if (model != null) {
             // 2. El panel le pasa el modelo a la vista para que lo dibuje.
+            AffineTransform transform = (timingOverlay != null) ? g2d.getTransform() : null;
             gameView.renderGame(g2d, model);
+            if (timingOverlay != null) {
+                g2d.setTransform(transform); // renderGame deja el Graphics trasladado
+                timingOverlay.draw(g2d);
+            }
+        }
+    }
+
+    /**
+     * Alternativa a repaint() para el game loop: repinta solo lo que cambió desde el
+     * último frame (ver {@link DirtyRegionTracker}). Hay que llamarlo desde el hilo del juego
+     * justo después de cada update(): las zonas se calculan ahí, con el modelo quieto, y el EDT
+     * solo las pinta. Si el EDT va con retraso, las zonas de varios ticks se juntan en un pintado.
+     */
+    public void repaintDirty() {
+        GameModel model = controller.getGameModel();
+        if (model == null) {
+            return;
+        }
+        List<Rectangle> regions = dirtyRegions.collect(model);
+        synchronized (pendingLock) {
+            if (regions == null) {
+                pendingRepaintAll = true;
+            } else {
+                pendingRegions.addAll(regions);
+            }
+            if (paintScheduled) {
+                return;
+            }
+            paintScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::paintDirtyRegions);
+    }
+
+    private void paintDirtyRegions() {
+        boolean repaintAll;
+        List<Rectangle> regions;
+        synchronized (pendingLock) {
+            paintScheduled = false;
+            repaintAll = pendingRepaintAll || pendingRegions.size() > MAX_PENDING_REGIONS;
+            pendingRepaintAll = false;
+            // Se intercambian las listas para no copiar las zonas
+            regions = pendingRegions;
+            pendingRegions = paintingRegions;
+            paintingRegions = regions;
+        }
+        try {
+            if (!isShowing()) {
+                return;
+            }
+            if (repaintAll) {
+                paintImmediately(0, 0, getWidth(), getHeight());
+                return;
+            }
+            if (timingOverlay != null) {
+                paintImmediately(TimingOverlay.BOUNDS); // Su texto cambia aunque no se mueva nada
+            }
+            // Cada zona se pinta por separado: repaint(Rectangle) las uniría en un único
+            // rectángulo que las englobe a todas, que suele ser casi toda la ventana
+            for (Rectangle region : regions) {
+                paintImmediately(region);
+            }
+        } finally {
+            regions.clear();
         }
     }
-}
\ No newline at end of file
+}
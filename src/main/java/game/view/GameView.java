@@ -4,8 +4,6 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.Shape;
-import java.awt.geom.Area;
 import java.util.ArrayList;
 
 import game.model.Coin;
@@ -14,12 +12,38 @@ import game.model.GameModel;
 import game.model.Goal;
 import game.model.Key;
 import game.model.Level;
-import game.model.Obstacle;
+import game.model.ObstacleField;
 import game.model.Player;
+import game.utils.FrameTimings;
 
 public class GameView {
+    private static final Font GAME_OVER_FONT = new Font("Arial", Font.BOLD, 30);
+
+    private final StaticLevelLayer staticLayer = new StaticLevelLayer(); // Fondo, paredes y puertas ya dibujados
+    private SpriteAtlas sprites; // Jugador, llave, monedas y obstáculos del nivel actual
+    private final HeaderLayer header = new HeaderLayer(); // Se regenera solo cuando cambia su texto
+    // Posición del último mensaje de fin de juego, para no medirlo en cada frame
+    private String gameOverMessage;
+    private int gameOverX, gameOverY;
 
     public void renderGame(Graphics2D g2d, GameModel model) {
+        renderGame(g2d, model, 1f);
+    }
+
+    /**
+     * Dibuja el juego con los objetos móviles interpolados entre el tick anterior y el actual.
+     * @param alpha Fracción del tick transcurrida (0 = posición anterior, 1 = posición actual).
+     */
+    public void renderGame(Graphics2D g2d, GameModel model, float alpha) {
+        long start = FrameTimings.start();
+        try {
+            drawGame(g2d, model, alpha);
+        } finally {
+            FrameTimings.stop(FrameTimings.Phase.RENDER, start);
+        }
+    }
+
+    private void drawGame(Graphics2D g2d, GameModel model, float alpha) {
         Level currentLevel = model.getCurrentLevel(); // Obtenemos el nivel desde el modelo.
 
         // Dibujar el header, pasándole el modelo.
@@ -27,116 +51,30 @@ public class GameView {
 
         g2d.translate(0, Config.HEADER_HEIGHT);
 
+        if (currentLevel != null) {
+            // Fondo, zona jugable, paredes y puertas: una sola copia de imagen que tapa toda el área
+            staticLayer.draw(g2d, currentLevel);
+            drawLevelComponents(g2d, currentLevel, alpha);
+            return;
+        }
+
         g2d.setColor(Config.COLOR_PLAY_AREA_BACKGROUND);
         g2d.fillRect(0, 0, Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT - Config.HEADER_HEIGHT);
 
         // La lógica para game over ahora consulta directamente al modelo.
-        if (model.isGameOver() && currentLevel == null) {
+        if (model.isGameOver()) {
             g2d.translate(0, -Config.HEADER_HEIGHT);
             drawGameOverScreen(g2d, "¡Juego Completado!");
-        } else if (currentLevel != null) {
-            Shape playArea = calculatePlayArea(currentLevel);
-            if (playArea != null) {
-                Shape originalClip = g2d.getClip();
-                g2d.setClip(playArea);
-                drawChessboardBackground(g2d, currentLevel);
-                g2d.setClip(originalClip);
-            }
-            drawLevelComponents(g2d, currentLevel);
         }
     }
 
     private void drawHeader(Graphics2D g2d, GameModel model) {
-        g2d.setColor(Config.COLOR_HEADER_BACKGROUND);
-        g2d.fillRect(0, 0, Config.WINDOW_WIDTH, Config.HEADER_HEIGHT);
-
-        g2d.setColor(Config.COLOR_HEADER_TEXT);
-        g2d.setFont(new Font("Monospaced", Font.BOLD, 18));
-
-        // Obtenemos los datos directamente del modelo.
-        String levelText = "Nivel: " + (model.getCurrentLevelIndex() + 1) + "/" + model.getTotalLevels();
-        g2d.drawString(levelText, 20, Config.HEADER_HEIGHT / 2 + 5);
-
-        String coinsText = "Monedas: 0/0";
-        Level currentLevel = model.getCurrentLevel();
-        if (currentLevel != null) {
-            int collectedInLevel = currentLevel.getNumberOfCurrentlyCollectedCoinsInLevel();
-            int totalInLevel = currentLevel.getTotalCoinsInLevel();
-            coinsText = "Monedas: " + collectedInLevel + "/" + totalInLevel;
-        }
-
-        FontMetrics metrics = g2d.getFontMetrics();
-        int coinsTextWidth = metrics.stringWidth(coinsText);
-        g2d.drawString(coinsText, (Config.WINDOW_WIDTH - coinsTextWidth) / 2, Config.HEADER_HEIGHT / 2 + 5);
-
-        // Obtenemos el contador de muertes del modelo.
-        String deathsText = "Muertes: " + model.getDeathCount();
-        int deathsTextWidth = metrics.stringWidth(deathsText);
-        g2d.drawString(deathsText, Config.WINDOW_WIDTH - deathsTextWidth - 20, Config.HEADER_HEIGHT / 2 + 5);
+        header.draw(g2d, model);
     }
 
-    private Shape calculatePlayArea(Level level) {
-        if (level == null || level.getTileMap() == null) {
-            return new Rectangle(0, 0, Config.WINDOW_WIDTH, Config.WINDOW_HEIGHT - Config.HEADER_HEIGHT);
-        }
-
-        int[][] tileMap = level.getTileMap();
-        int tileSize = level.getTileSize();
-        Area playAreaShape = new Area();
-
-        for (int i = 0; i < tileMap.length; i++) {
-            for (int j = 0; j < tileMap[i].length; j++) {
-                if (tileMap[i][j] == 0 || tileMap[i][j] == 2) {
-                    playAreaShape.add(new Area(new Rectangle(j * tileSize, i * tileSize, tileSize, tileSize)));
-                }
-            }
-        }
-        return playAreaShape;
-    }
-
-    private void drawChessboardBackground(Graphics2D g2d, Level level) {
-        int chessboardTileSize = Config.CHESSBOARD_TILE_SIZE; // Tamaño de cada cuadrado del fondo. Puede ser diferente al tileSize del nivel.
-        boolean isWhite = true; // Determina el color del primer tile (0,0) del chessboard
-
-        for (int y = 0; y < Config.WINDOW_HEIGHT - Config.HEADER_HEIGHT; y += chessboardTileSize) {
-            boolean rowStartIsWhite = isWhite; // Guardamos el color con el que debe empezar esta fila
-
-            for (int x = 0; x < Config.WINDOW_WIDTH; x += chessboardTileSize) {
-                if (rowStartIsWhite) {
-                    g2d.setColor(Config.COLOR_BACKGROUND_CHESS_LIGHT);
-                } else {
-                    g2d.setColor(Config.COLOR_BACKGROUND_CHESS_DARK);
-                }
-                g2d.fillRect(x, y, chessboardTileSize, chessboardTileSize);
-                rowStartIsWhite = !rowStartIsWhite; // Alternar para la siguiente celda en la misma fila
-            }
-            // Para la siguiente fila, invertir el color de inicio que usamos para esta
-            // fila.
-            isWhite = !isWhite;
-        }
-    }
-
-    private void drawLevelComponents(Graphics2D g2d, Level level) {
-        // Dibujar el tileMap (solo las paredes)
-        if (level.getTileMap() != null) {
-            int[][] tileMap = level.getTileMap();
-            int tileSize = level.getTileSize();
-            boolean doorsOpen = level.areDoorsOpen(); // Obtener el estado de la puerta
-
-            for (int i = 0; i < tileMap.length; i++) {
-                for (int j = 0; j < tileMap[i].length; j++) {
-                    if (tileMap[i][j] == Config.TILE_WALL) { // Pared
-                        g2d.setColor(Config.COLOR_WALL_TILE);
-                        g2d.fillRect(j * tileSize, i * tileSize, tileSize, tileSize);
-
-                        // ---- ESTA LÍNEA ES LA CLAVE DEL DIBUJADO ----
-                        // Solo dibuja la puerta (2) si las puertas están CERRADAS (!doorsOpen)
-                    } else if (tileMap[i][j] == Config.TILE_DOOR && !doorsOpen) {
-                        g2d.setColor(Config.COLOR_SAFE_ZONE_TILE);
-                        g2d.fillRect(j * tileSize, i * tileSize, tileSize, tileSize);
-                    }
-                }
-            }
+    private void drawLevelComponents(Graphics2D g2d, Level level, float alpha) {
+        if (sprites == null || !sprites.isFor(level)) {
+            sprites = SpriteAtlas.build(g2d.getDeviceConfiguration(), level);
         }
 
         // Dibujar llave (si existe y no ha sido recolectada)
@@ -146,10 +84,11 @@ public class GameView {
         }
 
         // Dibujar obstáculos
-        ArrayList<Obstacle> obstacles = level.getObstacles();
+        ObstacleField obstacles = level.getObstacleField();
         if (obstacles != null) {
-            for (Obstacle obstacle : obstacles) {
-                drawObstacle(g2d, obstacle);
+            for (int i = 0; i < obstacles.size(); i++) {
+                drawObstacle(g2d, obstacles.getInterpolatedX(i, alpha), obstacles.getInterpolatedY(i, alpha),
+                        obstacles.getRadius(i));
             }
         }
 
@@ -172,62 +111,22 @@ public class GameView {
         // Dibujar jugador
         Player player = level.getPlayer();
         if (player != null) {
-            drawPlayer(g2d, player);
+            drawPlayer(g2d, player, alpha);
         }
     }
 
     private void drawKey(Graphics2D g2d, Key key) {
-        Rectangle bounds = key.getBounds();
-
-        // La cabeza de la llave será un círculo tan ancho como la 'width' de la llave
-        int headDiameter = bounds.width;
-
-        // El vástago será un rectángulo delgado y centrado
-        int shaftWidth = 4; // Grosor del vástago
-        int shaftX = bounds.x + (headDiameter / 2) - (shaftWidth / 2); // Lo centramos
-        // El vástago empieza en el centro de la cabeza y baja hasta el final
-        int shaftY = bounds.y + (headDiameter / 2);
-        int shaftHeight = bounds.height - (headDiameter / 2);
-
-        // El diente de la llave
-        int toothWidth = headDiameter / 2 + 2;
-        int toothHeight = 5;
-        int toothY = bounds.y + bounds.height - toothHeight - 2;
-
-        // --- Dibujamos la llave por partes ---
-
-        // 1. Dibuja el vástago (el cuerpo principal)
-        g2d.setColor(Config.COLOR_KEY_GOLD);
-        g2d.fillRect(shaftX, shaftY, shaftWidth, shaftHeight);
-
-        // 2. Dibuja el diente
-        g2d.fillRect(shaftX, toothY, toothWidth, toothHeight);
-
-        // 3. Dibuja la cabeza de la llave
-        g2d.setColor(Config.COLOR_KEY_GOLD);
-        g2d.fillOval(bounds.x, bounds.y, headDiameter, headDiameter);
-
-        // 4. Dibuja un "agujero" o detalle oscuro en la cabeza para darle profundidad
-        g2d.setColor(Config.COLOR_KEY_SHADOW);
-        g2d.fillOval(bounds.x + 3, bounds.y + 3, headDiameter - 6, headDiameter - 6);
+        sprites.drawKey(g2d, key);
     }
 
-    private void drawPlayer(Graphics2D g2d, Player player) {
-        g2d.setColor(Config.COLOR_PLAYER);
-        // Es necesario convertir x e y a int porque fillRect los requiere.
-        g2d.fillRect(
-                (int) player.getX(),
-                (int) player.getY(),
-                player.getSize(),
+    private void drawPlayer(Graphics2D g2d, Player player, float alpha) {
+        // Es necesario convertir x e y a int porque el sprite se copia en píxeles enteros.
+        sprites.drawPlayer(g2d, (int) player.getInterpolatedX(alpha), (int) player.getInterpolatedY(alpha),
                 player.getSize());
     }
 
-    private void drawObstacle(Graphics2D g2d, Obstacle obstacle) {
-        g2d.setColor(Config.COLOR_OBSTACLE);
-        g2d.fillOval((int) (obstacle.getX() - obstacle.getRadius()),
-                (int) (obstacle.getY() - obstacle.getRadius()),
-                obstacle.getRadius() * 2,
-                obstacle.getRadius() * 2);
+    private void drawObstacle(Graphics2D g2d, float x, float y, int radius) {
+        sprites.drawObstacle(g2d, (int) (x - radius), (int) (y - radius), radius);
     }
 
     private void drawGoal(Graphics2D g2d, Goal goal) {
@@ -238,12 +137,10 @@ public class GameView {
 
     // Método para dibujar una moneda
     private void drawCoin(Graphics2D g2d, Coin coin) {
-        g2d.setColor(Config.COLOR_COIN);
-        g2d.fillOval(
+        sprites.drawCoin(g2d,
                 (int) (coin.getX() - coin.getRadius()),
                 (int) (coin.getY() - coin.getRadius()),
-                coin.getRadius() * 2,
-                coin.getRadius() * 2);
+                coin.getRadius());
     }
 
     public void drawGameOverScreen(Graphics2D g2d, String message) {
@@ -253,10 +150,13 @@ public class GameView {
 
         // Mensaje
         g2d.setColor(Config.COLOR_GAME_OVER_TEXT);
-        g2d.setFont(new Font("Arial", Font.BOLD, 30));
-        FontMetrics metrics = g2d.getFontMetrics();
-        int x = (Config.WINDOW_WIDTH - metrics.stringWidth(message)) / 2;
-        int y = (Config.WINDOW_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent();
-        g2d.drawString(message, x, y);
+        g2d.setFont(GAME_OVER_FONT);
+        if (!message.equals(gameOverMessage)) {
+            FontMetrics metrics = g2d.getFontMetrics();
+            gameOverX = (Config.WINDOW_WIDTH - metrics.stringWidth(message)) / 2;
+            gameOverY = (Config.WINDOW_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent();
+            gameOverMessage = message;
+        }
+        g2d.drawString(message, gameOverX, gameOverY);
     }
 }
\ No newline at end of file
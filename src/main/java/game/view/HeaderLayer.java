@@ -0,0 +1,107 @@
+package game.view;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import game.model.Config;
+import game.model.GameModel;
+import game.model.Level;
+import game.observer.EventType;
+import game.observer.Observer;
+
+/**
+ * El header (nivel, monedas y muertes) dibujado en una imagen que solo se regenera cuando
+ * cambia lo que muestra: al recibir un evento del Subject del modelo o al cambiar el nivel,
+ * su índice o el contador de muertes (p. ej. al reiniciar la partida, que no emite eventos).
+ * El resto de frames cuesta un drawImage y no reserva memoria.
+ */
+class HeaderLayer implements Observer {
+    static final Font FONT = new Font("Monospaced", Font.BOLD, 18);
+
+    private BufferedImage image;
+    private volatile boolean stale = true; // Los eventos llegan desde el hilo del juego
+    private GameModel subscribedModel;
+    private Level lastLevel;
+    private int lastLevelIndex;
+    private int lastDeathCount;
+
+    @Override
+    public void onNotify(GameModel model, EventType event) {
+        switch (event) {
+            case PLAYER_DEATH:
+            case COIN_COLLECTED:
+            case LEVEL_COMPLETE:
+            case GAME_COMPLETE:
+                // LEVEL_COMPLETE llega antes de cargar el siguiente nivel: se regenera al dibujar
+                stale = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    void draw(Graphics2D g2d, GameModel model) {
+        if (model != subscribedModel) {
+            if (subscribedModel != null) {
+                subscribedModel.getSubject().removeObserver(this);
+            }
+            model.getSubject().addObserver(this);
+            subscribedModel = model;
+            stale = true;
+        }
+        if (stale || image == null || model.getCurrentLevel() != lastLevel
+                || model.getCurrentLevelIndex() != lastLevelIndex || model.getDeathCount() != lastDeathCount) {
+            stale = false;
+            lastLevel = model.getCurrentLevel();
+            lastLevelIndex = model.getCurrentLevelIndex();
+            lastDeathCount = model.getDeathCount();
+            if (image == null) {
+                image = createImage(g2d.getDeviceConfiguration());
+            }
+            Graphics2D imageGraphics = image.createGraphics();
+            try {
+                render(imageGraphics, model);
+            } finally {
+                imageGraphics.dispose();
+            }
+        }
+        g2d.drawImage(image, 0, 0, null);
+    }
+
+    private static BufferedImage createImage(GraphicsConfiguration configuration) {
+        return configuration != null
+                ? configuration.createCompatibleImage(Config.WINDOW_WIDTH, Config.HEADER_HEIGHT, Transparency.OPAQUE)
+                : new BufferedImage(Config.WINDOW_WIDTH, Config.HEADER_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static void render(Graphics2D g2d, GameModel model) {
+        g2d.setColor(Config.COLOR_HEADER_BACKGROUND);
+        g2d.fillRect(0, 0, Config.WINDOW_WIDTH, Config.HEADER_HEIGHT);
+
+        g2d.setColor(Config.COLOR_HEADER_TEXT);
+        g2d.setFont(FONT);
+
+        String levelText = "Nivel: " + (model.getCurrentLevelIndex() + 1) + "/" + model.getTotalLevels();
+        g2d.drawString(levelText, 20, Config.HEADER_HEIGHT / 2 + 5);
+
+        String coinsText = "Monedas: 0/0";
+        Level currentLevel = model.getCurrentLevel();
+        if (currentLevel != null) {
+            int collectedInLevel = currentLevel.getNumberOfCurrentlyCollectedCoinsInLevel();
+            int totalInLevel = currentLevel.getTotalCoinsInLevel();
+            coinsText = "Monedas: " + collectedInLevel + "/" + totalInLevel;
+        }
+
+        FontMetrics metrics = g2d.getFontMetrics();
+        int coinsTextWidth = metrics.stringWidth(coinsText);
+        g2d.drawString(coinsText, (Config.WINDOW_WIDTH - coinsTextWidth) / 2, Config.HEADER_HEIGHT / 2 + 5);
+
+        String deathsText = "Muertes: " + model.getDeathCount();
+        int deathsTextWidth = metrics.stringWidth(deathsText);
+        g2d.drawString(deathsText, Config.WINDOW_WIDTH - deathsTextWidth - 20, Config.HEADER_HEIGHT / 2 + 5);
+    }
+}
@@ -0,0 +1,235 @@
+package game.view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import game.model.Coin;
+import game.model.Config;
+import game.model.Key;
+import game.model.Level;
+import game.model.ObstacleField;
+import game.model.Player;
+
+/**
+ * Los sprites de un nivel (jugador, llave, monedas y obstáculos) dibujados una sola vez en una
+ * imagen, uno al lado del otro, con los tamaños que trae el nivel. Dibujar una entidad es copiar
+ * su trozo de la imagen con un drawImage en vez de rehacerla con varias primitivas.
+ * Monedas y obstáculos tienen un sprite por cada radio distinto del nivel. Si se pide un
+ * tamaño que no está en el atlas se dibuja con primitivas, igual que antes.
+ */
+class SpriteAtlas {
+    private static final int PADDING = 1; // Separación entre sprites, para que no se mezclen al copiar
+
+    // Medidas de la llave, relativas a su esquina superior izquierda
+    private static final int KEY_SHAFT_WIDTH = 4;
+    private static final int KEY_TOOTH_HEIGHT = 5;
+
+    private final Level level;
+    private BufferedImage image;
+    private int width, height;
+
+    // Posición x de cada sprite dentro de la imagen (todos empiezan en y = 0); -1 si no está
+    private int playerX = -1, playerSize;
+    private int keyX = -1, keyWidth, keyHeight;
+    private int[] coinX = new int[0];
+    private int[] obstacleX = new int[0];
+
+    private SpriteAtlas(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * Genera el atlas con los sprites que usa el nivel.
+     */
+    static SpriteAtlas build(GraphicsConfiguration configuration, Level level) {
+        SpriteAtlas atlas = new SpriteAtlas(level);
+        atlas.layout();
+        atlas.render(configuration);
+        return atlas;
+    }
+
+    boolean isFor(Level currentLevel) {
+        return level == currentLevel;
+    }
+
+    // Reparte los sprites en una fila y calcula el tamaño de la imagen
+    private void layout() {
+        Player player = level.getPlayer();
+        if (player != null) {
+            playerSize = player.getSize();
+            playerX = reserve(playerSize, playerSize);
+        }
+
+        Key key = level.getKey();
+        if (key != null && keyFitsSprite(key.getWidth(), key.getHeight())) {
+            keyWidth = key.getWidth();
+            keyHeight = keyHeightWithHead(keyWidth, key.getHeight());
+            keyX = reserve(keyWidth, keyHeight);
+        }
+
+        for (Coin coin : level.getCoins()) {
+            coinX = reserveCircle(coinX, coin.getRadius());
+        }
+        ObstacleField obstacles = level.getObstacleField();
+        if (obstacles != null) {
+            for (int i = 0; i < obstacles.size(); i++) {
+                obstacleX = reserveCircle(obstacleX, obstacles.getRadius(i));
+            }
+        }
+    }
+
+    private int reserve(int spriteWidth, int spriteHeight) {
+        int x = width;
+        width += spriteWidth + PADDING;
+        height = Math.max(height, spriteHeight);
+        return x;
+    }
+
+    private int[] reserveCircle(int[] positions, int radius) {
+        if (radius <= 0) {
+            return positions;
+        }
+        if (radius >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, radius + 1);
+            Arrays.fill(positions, oldLength, positions.length, -1);
+        }
+        if (positions[radius] < 0) {
+            positions[radius] = reserve(radius * 2, radius * 2);
+        }
+        return positions;
+    }
+
+    private void render(GraphicsConfiguration configuration) {
+        if (width == 0 || height == 0) {
+            return; // Nivel sin nada que dibujar
+        }
+        // Compatible con el destino y con transparencia de 1 bit: se copia sin conversiones
+        image = configuration != null
+                ? configuration.createCompatibleImage(width, height, Transparency.BITMASK)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            if (playerX >= 0) {
+                paintPlayer(g2d, playerX, 0, playerSize);
+            }
+            if (keyX >= 0) {
+                paintKey(g2d, keyX, 0, keyWidth, level.getKey().getHeight());
+            }
+            for (int radius = 1; radius < coinX.length; radius++) {
+                if (coinX[radius] >= 0) {
+                    paintCoin(g2d, coinX[radius], 0, radius);
+                }
+            }
+            for (int radius = 1; radius < obstacleX.length; radius++) {
+                if (obstacleX[radius] >= 0) {
+                    paintObstacle(g2d, obstacleX[radius], 0, radius);
+                }
+            }
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    void drawPlayer(Graphics2D g2d, int x, int y, int size) {
+        if (playerX >= 0 && size == playerSize) {
+            blit(g2d, playerX, x, y, size, size);
+        } else {
+            paintPlayer(g2d, x, y, size);
+        }
+    }
+
+    void drawKey(Graphics2D g2d, Key key) {
+        int x = (int) key.getX();
+        int y = (int) key.getY();
+        if (keyX >= 0 && key.getWidth() == keyWidth && keyHeightWithHead(key.getWidth(), key.getHeight()) == keyHeight) {
+            blit(g2d, keyX, x, y, keyWidth, keyHeight);
+        } else {
+            paintKey(g2d, x, y, key.getWidth(), key.getHeight());
+        }
+    }
+
+    void drawCoin(Graphics2D g2d, int x, int y, int radius) {
+        if (radius > 0 && radius < coinX.length && coinX[radius] >= 0) {
+            blit(g2d, coinX[radius], x, y, radius * 2, radius * 2);
+        } else {
+            paintCoin(g2d, x, y, radius);
+        }
+    }
+
+    void drawObstacle(Graphics2D g2d, int x, int y, int radius) {
+        if (radius > 0 && radius < obstacleX.length && obstacleX[radius] >= 0) {
+            blit(g2d, obstacleX[radius], x, y, radius * 2, radius * 2);
+        } else {
+            paintObstacle(g2d, x, y, radius);
+        }
+    }
+
+    private void blit(Graphics2D g2d, int spriteX, int x, int y, int spriteWidth, int spriteHeight) {
+        g2d.drawImage(image, x, y, x + spriteWidth, y + spriteHeight,
+                spriteX, 0, spriteX + spriteWidth, spriteHeight, null);
+    }
+
+    // La llave dibuja por encima de su esquina o a su izquierda si es demasiado pequeña;
+    // entonces no cabe en su sprite y se dibuja siempre con primitivas
+    private static boolean keyFitsSprite(int width, int height) {
+        return width >= KEY_SHAFT_WIDTH && height >= KEY_TOOTH_HEIGHT + 2;
+    }
+
+    // La cabeza es un círculo tan ancho como la llave: puede bajar más que su alto
+    private static int keyHeightWithHead(int width, int height) {
+        return Math.max(width, height);
+    }
+
+    // --- Primitivas: con ellas se generan los sprites y se dibuja lo que no está en el atlas ---
+
+    private static void paintPlayer(Graphics2D g2d, int x, int y, int size) {
+        g2d.setColor(Config.COLOR_PLAYER);
+        g2d.fillRect(x, y, size, size);
+    }
+
+    private static void paintKey(Graphics2D g2d, int x, int y, int width, int height) {
+        // La cabeza de la llave será un círculo tan ancho como la 'width' de la llave
+        int headDiameter = width;
+
+        // El vástago será un rectángulo delgado y centrado
+        int shaftX = x + (headDiameter / 2) - (KEY_SHAFT_WIDTH / 2); // Lo centramos
+        // El vástago empieza en el centro de la cabeza y baja hasta el final
+        int shaftY = y + (headDiameter / 2);
+        int shaftHeight = height - (headDiameter / 2);
+
+        // El diente de la llave
+        int toothWidth = headDiameter / 2 + 2;
+        int toothY = y + height - KEY_TOOTH_HEIGHT - 2;
+
+        // --- Dibujamos la llave por partes ---
+
+        // 1. Dibuja el vástago (el cuerpo principal)
+        g2d.setColor(Config.COLOR_KEY_GOLD);
+        g2d.fillRect(shaftX, shaftY, KEY_SHAFT_WIDTH, shaftHeight);
+
+        // 2. Dibuja el diente
+        g2d.fillRect(shaftX, toothY, toothWidth, KEY_TOOTH_HEIGHT);
+
+        // 3. Dibuja la cabeza de la llave
+        g2d.setColor(Config.COLOR_KEY_GOLD);
+        g2d.fillOval(x, y, headDiameter, headDiameter);
+
+        // 4. Dibuja un "agujero" o detalle oscuro en la cabeza para darle profundidad
+        g2d.setColor(Config.COLOR_KEY_SHADOW);
+        g2d.fillOval(x + 3, y + 3, headDiameter - 6, headDiameter - 6);
+    }
+
+    private static void paintCoin(Graphics2D g2d, int x, int y, int radius) {
+        g2d.setColor(Config.COLOR_COIN);
+        g2d.fillOval(x, y, radius * 2, radius * 2);
+    }
+
+    private static void paintObstacle(Graphics2D g2d, int x, int y, int radius) {
+        g2d.setColor(Config.COLOR_OBSTACLE);
+        g2d.fillOval(x, y, radius * 2, radius * 2);
+    }
+}
@@ -0,0 +1,130 @@
+package game.view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import game.model.Config;
+import game.model.Level;
+
+/**
+ * Lo que no cambia durante un nivel (fondo, tablero de ajedrez de la zona jugable, paredes
+ * y puertas) dibujado una sola vez en una imagen. Hay una imagen con las puertas cerradas y
+ * otra con las puertas abiertas; cada frame solo copia la que toca con un drawImage.
+ * Al cambiar de nivel las imágenes se vuelven a generar.
+ */
+class StaticLevelLayer {
+    private static final int WIDTH = Config.WINDOW_WIDTH;
+    private static final int HEIGHT = Config.WINDOW_HEIGHT - Config.HEADER_HEIGHT;
+
+    private Level level; // Nivel para el que están generadas las imágenes
+    private BufferedImage doorsClosed;
+    private BufferedImage doorsOpen;
+
+    /**
+     * Dibuja la capa estática del nivel en (0, 0), generándola si hace falta.
+     */
+    void draw(Graphics2D g2d, Level currentLevel) {
+        if (currentLevel != level) {
+            level = currentLevel;
+            doorsClosed = null;
+            doorsOpen = null;
+        }
+        boolean open = currentLevel.areDoorsOpen();
+        BufferedImage image = open ? doorsOpen : doorsClosed;
+        if (image == null) {
+            image = render(g2d.getDeviceConfiguration(), currentLevel, open);
+            if (open) {
+                doorsOpen = image;
+            } else {
+                doorsClosed = image;
+            }
+        }
+        g2d.drawImage(image, 0, 0, null);
+    }
+
+    private static BufferedImage render(GraphicsConfiguration configuration, Level level, boolean doorsAreOpen) {
+        // Una imagen compatible con el destino se copia sin conversiones de formato
+        BufferedImage image = configuration != null
+                ? configuration.createCompatibleImage(WIDTH, HEIGHT, Transparency.OPAQUE)
+                : new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setColor(Config.COLOR_PLAY_AREA_BACKGROUND);
+            g2d.fillRect(0, 0, WIDTH, HEIGHT);
+            drawChessboardBackground(g2d);
+            if (level.getTileMap() != null) {
+                coverOutsidePlayArea(g2d, level);
+                drawTiles(g2d, level, doorsAreOpen);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    private static void drawChessboardBackground(Graphics2D g2d) {
+        int chessboardTileSize = Config.CHESSBOARD_TILE_SIZE; // Tamaño de cada cuadrado del fondo. Puede ser diferente al tileSize del nivel.
+        boolean isWhite = true; // Determina el color del primer tile (0,0) del chessboard
+
+        for (int y = 0; y < HEIGHT; y += chessboardTileSize) {
+            boolean rowStartIsWhite = isWhite; // Guardamos el color con el que debe empezar esta fila
+
+            for (int x = 0; x < WIDTH; x += chessboardTileSize) {
+                if (rowStartIsWhite) {
+                    g2d.setColor(Config.COLOR_BACKGROUND_CHESS_LIGHT);
+                } else {
+                    g2d.setColor(Config.COLOR_BACKGROUND_CHESS_DARK);
+                }
+                g2d.fillRect(x, y, chessboardTileSize, chessboardTileSize);
+                rowStartIsWhite = !rowStartIsWhite; // Alternar para la siguiente celda en la misma fila
+            }
+            // Para la siguiente fila, invertir el color de inicio que usamos para esta fila.
+            isWhite = !isWhite;
+        }
+    }
+
+    /**
+     * El tablero solo se ve en la zona jugable (tiles de suelo y de puerta). En vez de
+     * recortar con un Area hecha de todos esos tiles, se tapa con el color de fondo
+     * todo lo demás: los tiles de otro tipo y lo que queda fuera del mapa.
+     */
+    private static void coverOutsidePlayArea(Graphics2D g2d, Level level) {
+        int[][] tileMap = level.getTileMap();
+        int tileSize = level.getTileSize();
+        g2d.setColor(Config.COLOR_PLAY_AREA_BACKGROUND);
+
+        int mapWidth = 0;
+        for (int i = 0; i < tileMap.length; i++) {
+            mapWidth = Math.max(mapWidth, tileMap[i].length * tileSize);
+            // Fuera del mapa a la derecha de esta fila
+            g2d.fillRect(tileMap[i].length * tileSize, i * tileSize, WIDTH, tileSize);
+            for (int j = 0; j < tileMap[i].length; j++) {
+                if (tileMap[i][j] != Config.TILE_GROUND && tileMap[i][j] != Config.TILE_DOOR) {
+                    g2d.fillRect(j * tileSize, i * tileSize, tileSize, tileSize);
+                }
+            }
+        }
+        // Fuera del mapa por debajo
+        g2d.fillRect(0, tileMap.length * tileSize, Math.max(WIDTH, mapWidth), HEIGHT);
+    }
+
+    private static void drawTiles(Graphics2D g2d, Level level, boolean doorsAreOpen) {
+        int[][] tileMap = level.getTileMap();
+        int tileSize = level.getTileSize();
+
+        for (int i = 0; i < tileMap.length; i++) {
+            for (int j = 0; j < tileMap[i].length; j++) {
+                if (tileMap[i][j] == Config.TILE_WALL) { // Pared
+                    g2d.setColor(Config.COLOR_WALL_TILE);
+                    g2d.fillRect(j * tileSize, i * tileSize, tileSize, tileSize);
+                } else if (tileMap[i][j] == Config.TILE_DOOR && !doorsAreOpen) {
+                    // Solo se dibuja la puerta si está cerrada
+                    g2d.setColor(Config.COLOR_SAFE_ZONE_TILE);
+                    g2d.fillRect(j * tileSize, i * tileSize, tileSize, tileSize);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package game.view;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import game.model.Coin;
+import game.model.GameModel;
+import game.model.Level;
+import game.model.ObstacleField;
+import game.model.Player;
+import game.model.Score;
+
+/**
+ * Dibuja el juego en una terminal ANSI sin borrar la pantalla en cada frame. Cada frame se
+ * compone en un buffer de caracteres (back) y se compara con lo que ya hay en pantalla (front):
+ * solo se escriben las celdas que cambiaron, con secuencias de mover el cursor. Todo el frame
+ * se junta en un StringBuilder reutilizado y sale en una sola escritura.
+ * <p>
+ * El tamaño de la rejilla del nivel es configurable (por defecto 40x20 celdas, cada una de dos
+ * columnas de ancho). Solo se escriben caracteres ASCII.
+ */
+public class TerminalRenderer {
+    public static final int DEFAULT_COLS = 40;
+    public static final int DEFAULT_ROWS = 20;
+
+    private static final String TITLE = "--- World's Hardest Game (Consola) ---";
+    private static final String TOP_TEN_TITLE = "--- Top 10 Jugadores ---";
+    private static final String COMMANDS = "Comandos: [W] Arriba, [A] Izquierda, [S] Abajo, [D] Derecha, [Q] Salir";
+    private static final String ESC = "\033[";
+    // Dos cambios en la misma fila separados por menos columnas iguales que esto se escriben
+    // de una vez: sale más corto que otra secuencia de mover el cursor
+    private static final int MAX_GAP = 6;
+    private static final int HEADER_ROWS = 2; // Título y línea de estado
+
+    private final PrintStream out;
+    private final int gridCols, gridRows;
+    private final int width; // Ancho de la pantalla en caracteres
+
+    private int height;
+    private char[] front = new char[0]; // Lo que hay en la terminal
+    private char[] back = new char[0];  // El frame que se está componiendo
+    private boolean fullRedraw = true;
+
+    private final StringBuilder frame = new StringBuilder(8192);
+    private final StringBuilder line = new StringBuilder(128);
+    private byte[] bytes = new byte[8192];
+
+    public TerminalRenderer(PrintStream out, int gridCols, int gridRows) {
+        if (gridCols < 1 || gridRows < 1) {
+            throw new IllegalArgumentException("La rejilla debe tener al menos 1x1 celdas");
+        }
+        this.out = out;
+        this.gridCols = gridCols;
+        this.gridRows = gridRows;
+        this.width = Math.max(gridCols * 2, Math.max(TITLE.length(), COMMANDS.length()));
+    }
+
+    /**
+     * Renderer sobre System.out con el tamaño de -Dgame.console.cols / -Dgame.console.rows
+     * (por defecto {@link #DEFAULT_COLS}x{@link #DEFAULT_ROWS}).
+     */
+    public static TerminalRenderer forSystemOut() {
+        return new TerminalRenderer(System.out,
+                Integer.getInteger("game.console.cols", DEFAULT_COLS),
+                Integer.getInteger("game.console.rows", DEFAULT_ROWS));
+    }
+
+    /**
+     * Obliga a repintar toda la pantalla en el próximo frame (p. ej. si otro código escribió en ella).
+     */
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    public void render(GameModel model) {
+        if (model == null || model.getCurrentLevel() == null) {
+            out.println("Cargando...");
+            fullRedraw = true;
+            return;
+        }
+        compose(model);
+        flush();
+    }
+
+    // --- Composición del frame en el back buffer ---
+
+    private void compose(GameModel model) {
+        ArrayList<Score> topTen = model.isGameOver() ? model.getTopTen() : null;
+        int topTenRows = (topTen != null) ? 2 + topTen.size() : 0; // Línea en blanco, título y entradas
+        resize(HEADER_ROWS + topTenRows + gridRows + 1);
+        Arrays.fill(back, ' ');
+
+        putText(0, TITLE);
+        line.setLength(0);
+        line.append("Nivel: ").append(model.getCurrentLevelIndex() + 1).append(" | Muertes: ").append(model.getDeathCount());
+        putText(1, line);
+
+        int row = HEADER_ROWS;
+        if (topTen != null) {
+            putText(row + 1, TOP_TEN_TITLE);
+            for (int i = 0; i < topTen.size(); i++) {
+                line.setLength(0);
+                line.append(i + 1).append(". ").append(topTen.get(i));
+                putText(row + 2 + i, line);
+            }
+            row += topTenRows;
+        }
+        composeLevel(model.getCurrentLevel(), row);
+        putText(row + gridRows, COMMANDS);
+    }
+
+    private void composeLevel(Level level, int firstRow) {
+        int[][] tileMap = level.getTileMap();
+        int tileSize = level.getTileSize();
+        int mapRows = tileMap.length;
+        int mapCols = tileMap[0].length;
+
+        // 1. Fondo y paredes
+        for (int i = 0; i < gridRows; i++) {
+            // Mapea la coordenada de la consola a la del tileMap
+            int mapRow = i * mapRows / gridRows;
+            for (int j = 0; j < gridCols; j++) {
+                int mapCol = j * mapCols / gridCols;
+                char cell;
+                if (tileMap[mapRow][mapCol] == 1) {
+                    cell = '#'; // Pared
+                } else if (tileMap[mapRow][mapCol] == 2 && !level.areDoorsOpen()) {
+                    cell = 'D'; // Puerta cerrada
+                } else {
+                    cell = '.'; // Espacio vacío
+                }
+                back[(firstRow + i) * width + j * 2] = cell;
+            }
+        }
+
+        // 2. Elementos del juego encima
+        Player player = level.getPlayer();
+        putEntity(firstRow, player.getX(), player.getY(), tileSize, mapCols, mapRows, 'P');
+
+        for (Coin coin : level.getCoins()) {
+            if (!coin.isCollected()) {
+                putEntity(firstRow, coin.getX(), coin.getY(), tileSize, mapCols, mapRows, 'o');
+            }
+        }
+
+        ObstacleField obstacles = level.getObstacleField();
+        if (obstacles != null) {
+            for (int i = 0; i < obstacles.size(); i++) {
+                putEntity(firstRow, obstacles.getX(i), obstacles.getY(i), tileSize, mapCols, mapRows, 'X');
+            }
+        }
+
+        if (level.getKey() != null && !level.getKey().isCollected()) {
+            putEntity(firstRow, level.getKey().getX(), level.getKey().getY(), tileSize, mapCols, mapRows, 'K');
+        }
+
+        putEntity(firstRow, level.getGoal().getX(), level.getGoal().getY(), tileSize, mapCols, mapRows, 'G');
+    }
+
+    // Convierte las coordenadas del juego (píxeles) a una celda de la rejilla
+    private void putEntity(int firstRow, float x, float y, int tileSize, int mapCols, int mapRows, char c) {
+        int col = (int) (x / tileSize * gridCols / mapCols);
+        int row = (int) (y / tileSize * gridRows / mapRows);
+        if (row >= 0 && row < gridRows && col >= 0 && col < gridCols) {
+            back[(firstRow + row) * width + col * 2] = c;
+        }
+    }
+
+    private void putText(int row, CharSequence text) {
+        int length = Math.min(text.length(), width);
+        int base = row * width;
+        for (int i = 0; i < length; i++) {
+            back[base + i] = text.charAt(i);
+        }
+    }
+
+    private void resize(int rows) {
+        if (rows == height) {
+            return;
+        }
+        height = rows;
+        back = new char[width * rows];
+        front = new char[width * rows];
+        fullRedraw = true;
+    }
+
+    // --- Diferencias con la pantalla y escritura ---
+
+    private void flush() {
+        frame.setLength(0);
+        if (fullRedraw) {
+            frame.append(ESC).append("H").append(ESC).append("2J");
+            Arrays.fill(front, '\0'); // Ninguna celda coincide: se escribe todo
+            fullRedraw = false;
+        }
+        for (int row = 0; row < height; row++) {
+            int base = row * width;
+            int col = 0;
+            while (col < width) {
+                if (back[base + col] == front[base + col]) {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                int end = ++col;
+                while (col < width && col - end < MAX_GAP) {
+                    if (back[base + col] != front[base + col]) {
+                        end = col + 1;
+                    }
+                    col++;
+                }
+                moveCursor(row, start);
+                frame.append(back, base + start, end - start);
+                col = end;
+            }
+        }
+        // El cursor queda debajo del frame y se borra lo que haya (p. ej. el comando que se tecleó)
+        moveCursor(height, 0);
+        frame.append(ESC).append("J");
+
+        char[] swap = front;
+        front = back;
+        back = swap;
+        write();
+    }
+
+    private void moveCursor(int row, int col) {
+        frame.append(ESC).append(row + 1).append(';').append(col + 1).append('H');
+    }
+
+    private void write() {
+        int length = frame.length();
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            char c = frame.charAt(i);
+            bytes[i] = (byte) (c < 128 ? c : '?');
+        }
+        out.write(bytes, 0, length);
+        out.flush();
+    }
+}
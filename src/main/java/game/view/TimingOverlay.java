@@ -0,0 +1,46 @@
+package game.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+import game.model.Config;
+import game.utils.FrameTimings;
+
+/**
+ * Recuadro con los tiempos por fase de {@link FrameTimings}, dibujado encima del juego
+ * (con -Dgame.timings=overlay). El texto se recalcula dos veces por segundo, no en cada frame.
+ */
+class TimingOverlay {
+    private static final FrameTimings.Phase[] PHASES = FrameTimings.Phase.values();
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final int LINE_HEIGHT = 15;
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    static final Rectangle BOUNDS = new Rectangle(8, Config.HEADER_HEIGHT + 8, 690, PHASES.length * LINE_HEIGHT + 10);
+
+    private final String[] lines = new String[PHASES.length];
+    private long lastRefresh;
+
+    /**
+     * Dibuja el recuadro en coordenadas de la ventana (sin trasladar).
+     */
+    void draw(Graphics2D g2d) {
+        long now = System.nanoTime();
+        if (lines[0] == null || now - lastRefresh >= REFRESH_NANOS) {
+            for (int i = 0; i < PHASES.length; i++) {
+                lines[i] = FrameTimings.formatLine(PHASES[i]);
+            }
+            lastRefresh = now;
+        }
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(BOUNDS.x, BOUNDS.y, BOUNDS.width, BOUNDS.height);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(FONT);
+        for (int i = 0; i < lines.length; i++) {
+            g2d.drawString(lines[i], BOUNDS.x + 6, BOUNDS.y + 5 + (i + 1) * LINE_HEIGHT - 3);
+        }
+    }
+}
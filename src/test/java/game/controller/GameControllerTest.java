@@ -0,0 +1,75 @@
+package game.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import game.model.Player;
+import game.observer.EventType;
+
+/**
+ * Las partidas del controlador de escritorio y consola se graban y se reproducen igual que
+ * las de una {@link GameSession}, aunque al jugador lo mueva la consola y no el teclado.
+ */
+class GameControllerTest {
+
+    @AfterEach
+    void clearRecordingsDirectory() {
+        System.clearProperty(InputRecording.RECORDINGS_PROPERTY);
+    }
+
+    @Test
+    void desktopGameIsRecordedAndReplays(@TempDir Path directory) throws Exception {
+        System.setProperty(InputRecording.RECORDINGS_PROPERTY, directory.toString());
+        GameController controller = new GameController();
+        controller.initGame();
+        play(controller, new Random(1), 3000);
+
+        InputRecording recording = controller.getRecording();
+        assertEquals(3000, recording.getTickCount());
+        assertTrue(recording.countEvents(EventType.PLAYER_DEATH) > 0, "ninguna muerte que comprobar");
+        ReplayVerifier.Result result = ReplayVerifier.verify(recording);
+        assertTrue(result.matches(), result.getProblem());
+
+        Path file = controller.saveRecording();
+        assertNotNull(file);
+        assertTrue(InputRecording.read(file).sameEvents(recording));
+    }
+
+    @Test
+    void restartedGameStartsANewRecording() throws Exception {
+        GameController controller = new GameController();
+        controller.initGame();
+        play(controller, new Random(2), 500);
+        controller.initGame(); // Otra partida con el mismo controlador, como desde el menú
+        play(controller, new Random(3), 1000);
+
+        InputRecording recording = controller.getRecording();
+        assertEquals(1000, recording.getTickCount());
+        ReplayVerifier.Result result = ReplayVerifier.verify(recording);
+        assertTrue(result.matches(), result.getProblem());
+    }
+
+    // Mueve al jugador a mano, como la consola, cambiando de dirección cada pocos ticks
+    private static void play(GameController controller, Random random, int ticks) {
+        int mask = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick % 20 == 0) {
+                mask = random.nextInt(16);
+            }
+            Player player = controller.getGameModel().getPlayer();
+            player.setMovingUp((mask & InputSource.UP) != 0);
+            player.setMovingDown((mask & InputSource.DOWN) != 0);
+            player.setMovingLeft((mask & InputSource.LEFT) != 0);
+            player.setMovingRight((mask & InputSource.RIGHT) != 0);
+            controller.update();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package game.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import game.model.GameModel;
+import game.model.LevelLoader;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Formato de {@link InputRecording} (tramos cortos, largos y varints) y su comprobación con
+ * {@link ReplayVerifier}, también cuando la grabación empieza con el nivel a medias.
+ */
+class InputRecordingTest {
+    // Longitudes de tramo en los bordes de la codificación: un byte, byte + varint de 1, 2 y 4 bytes
+    private static final int[] RUNS = { 1, 15, 16, 17, 1 << 7, (1 << 7) + 16, 1 << 14, (1 << 14) + 16, (1 << 21) + 5 };
+
+    @Test
+    void roundTripKeepsEveryRun() throws IOException, LevelLoadException {
+        InputRecorder recorder = new InputRecorder(42, new GameModel((ExecutorService) null));
+        int total = 0;
+        for (int i = 0; i < RUNS.length; i++) {
+            for (int t = 0; t < RUNS[i]; t++) {
+                recorder.record(i % 16);
+            }
+            total += RUNS[i];
+        }
+        InputRecording recording = recorder.toRecording();
+        InputRecording read = InputRecording.fromBytes(recording.toBytes());
+
+        assertArrayEquals(recording.toBytes(), read.toBytes());
+        assertEquals(total, read.getTickCount());
+        assertEquals(42, read.getLevelsHash());
+        InputRecording.Cursor cursor = read.cursor();
+        for (int i = 0; i < RUNS.length; i++) {
+            for (int t = 0; t < RUNS[i]; t++) {
+                assertEquals(i % 16, cursor.nextMask(), "tramo de " + RUNS[i] + ", tick " + t);
+            }
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    void emptyRecordingRoundTrips() throws IOException, LevelLoadException {
+        InputRecording recording = new InputRecorder(7, new GameModel((ExecutorService) null)).toRecording();
+        InputRecording read = InputRecording.fromBytes(recording.toBytes());
+
+        assertEquals(0, read.getTickCount());
+        assertEquals(0, read.getEventCount());
+        assertFalse(read.cursor().hasNext());
+        assertArrayEquals(recording.toBytes(), read.toBytes());
+    }
+
+    @Test
+    void corruptRecordingsAreIoErrors() throws LevelLoadException {
+        GameSession session = new GameSession(new GameModel((ExecutorService) null));
+        play(session, new Random(4), 2000);
+        byte[] bytes = session.getRecording().toBytes();
+        assertTrue(session.getRecording().getEventCount() > 0);
+
+        assertThrows(IOException.class, () -> InputRecording.fromBytes(Arrays.copyOf(bytes, 20)));
+        assertThrows(IOException.class, () -> InputRecording.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+        byte[] magic = bytes.clone();
+        magic[0] ^= 1;
+        assertThrows(IOException.class, () -> InputRecording.fromBytes(magic));
+        byte[] version = bytes.clone();
+        version[4] ^= 1;
+        assertThrows(IOException.class, () -> InputRecording.fromBytes(version));
+        byte[] inputLength = bytes.clone();
+        inputLength[55] = 0x7F; // Casi 2 GB de entrada en la cabecera
+        assertThrows(IOException.class, () -> InputRecording.fromBytes(inputLength));
+    }
+
+    @Test
+    void sessionFromLevelStartReplays() throws LevelLoadException {
+        GameSession session = new GameSession(new GameModel((ExecutorService) null));
+        play(session, new Random(5), 3000);
+
+        InputRecording recording = session.getRecording();
+        assertEquals(0, recording.getStartLevel());
+        assertEquals(0, recording.getStartTick());
+        ReplayVerifier.Result result = ReplayVerifier.verify(recording);
+        assertTrue(result.matches(), result.getProblem());
+    }
+
+    @Test
+    void recordingStartedMidLevelReplays() throws LevelLoadException {
+        GameModel model = new GameModel((ExecutorService) null);
+        GameController controller = new GameController(model);
+        Random random = new Random(6);
+        // Sin grabar: los obstáculos, el jugador y las muertes quedan a mitad de nivel
+        for (int tick = 0; tick < 700; tick++) {
+            Simulator.applyInput(model.getPlayer(), tick % 20 == 0 ? random.nextInt(16) : 0);
+            controller.update();
+        }
+        InputRecorder recorder = new InputRecorder(model.getLevelsHash(), model);
+        model.getSubject().addObserver(recorder);
+        int mask = 0;
+        for (int tick = 0; tick < 2000 && !model.isGameOver(); tick++) {
+            if (tick % 20 == 0) {
+                mask = random.nextInt(16);
+            }
+            recorder.record(mask);
+            Simulator.applyInput(model.getPlayer(), mask);
+            controller.update();
+        }
+
+        InputRecording recording = recorder.toRecording();
+        assertTrue(recording.getStartTick() > 0);
+        ReplayVerifier.Result result = ReplayVerifier.verify(recording);
+        assertTrue(result.matches(), result.getProblem());
+    }
+
+    @Test
+    void recordingFromOtherLevelsIsRejected() throws IOException, LevelLoadException {
+        GameSession session = new GameSession(new GameModel((ExecutorService) null));
+        play(session, new Random(7), 500);
+        byte[] bytes = session.getRecording().toBytes();
+        bytes[8] ^= 1; // Primer byte del hash de los niveles
+
+        assertFalse(ReplayVerifier.verify(InputRecording.fromBytes(bytes)).matches());
+        // La misma partida contra un nivel suelto: su hash no es el de la fuente de niveles
+        assertFalse(ReplayVerifier.verify(session.getRecording(), LevelLoader.loadLevel(0)).matches());
+    }
+
+    private static void play(GameSession session, Random random, int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick % 20 == 0) {
+                session.setInput(random.nextInt(16));
+            }
+            session.tick();
+        }
+    }
+}
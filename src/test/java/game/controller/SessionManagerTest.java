@@ -0,0 +1,61 @@
+package game.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import game.model.GameModel;
+import game.model.LevelLoader;
+import game.model.exception.LevelLoadException;
+
+/**
+ * Sesiones que terminan o fallan en su primer tick no deben quedarse en el manager ni parar
+ * a las demás, con hilos de plataforma y con el reloj central.
+ */
+class SessionManagerTest {
+    private static final int BROKEN_SESSIONS = 10;
+
+    @Test
+    void platformThreadsDropFinishedAndFailedSessions() throws Exception {
+        try (SessionManager manager = SessionManager.withPlatformThreads(2)) {
+            checkOnlyHealthySessionRemains(manager);
+        }
+    }
+
+    @Test
+    void tickSchedulerDropsFinishedAndFailedSessions() throws Exception {
+        try (SessionManager manager = SessionManager.withTickScheduler(2)) {
+            checkOnlyHealthySessionRemains(manager);
+        }
+    }
+
+    @Test
+    void stoppedSessionCanBeStartedAgain() throws Exception {
+        try (SessionManager manager = SessionManager.withTickScheduler(1)) {
+            GameSession session = new GameSession(new GameModel(LevelLoader.loadLevel(0)));
+            manager.start(session);
+            manager.stop(session);
+            manager.start(session);
+            long ticks = session.getTick();
+            assertTrue(Sessions.waitFor(() -> session.getTick() >= ticks + 10), "la sesión no volvió a avanzar");
+            assertEquals(1, manager.getActiveSessions());
+        }
+    }
+
+    private static void checkOnlyHealthySessionRemains(SessionManager manager)
+            throws LevelLoadException, InterruptedException {
+        for (int i = 0; i < BROKEN_SESSIONS; i++) {
+            manager.start(new GameSession(Sessions.finishingModel()));
+            manager.start(new GameSession(Sessions.throwingModel()));
+        }
+        GameSession healthy = new GameSession(new GameModel(LevelLoader.loadLevel(0)));
+        manager.start(healthy);
+
+        assertTrue(Sessions.waitFor(() -> manager.getActiveSessions() == 1),
+                manager.getActiveSessions() + " sesiones activas");
+        long ticks = healthy.getTick();
+        assertTrue(Sessions.waitFor(() -> healthy.getTick() >= ticks + 10), "la sesión sana dejó de avanzar");
+        assertEquals(1, manager.getActiveSessions());
+    }
+}
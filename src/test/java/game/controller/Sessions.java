@@ -0,0 +1,45 @@
+package game.controller;
+
+import java.util.function.BooleanSupplier;
+
+import game.model.GameModel;
+import game.model.LevelLoader;
+import game.model.exception.LevelLoadException;
+
+// Sesiones raras para las pruebas del SessionManager y el TickScheduler
+final class Sessions {
+    private Sessions() {}
+
+    // Termina el juego en su primer tick
+    static GameModel finishingModel() throws LevelLoadException {
+        return new GameModel(LevelLoader.loadLevel(0)) {
+            @Override
+            public void update() {
+                super.update();
+                setGameOver(true);
+            }
+        };
+    }
+
+    // Su tick siempre lanza una excepción
+    static GameModel throwingModel() throws LevelLoadException {
+        return new GameModel(LevelLoader.loadLevel(0)) {
+            @Override
+            public void update() {
+                throw new IllegalStateException("fallo provocado por la prueba");
+            }
+        };
+    }
+
+    // Espera hasta 5 s a que se cumpla la condición
+    static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
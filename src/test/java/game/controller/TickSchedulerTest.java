@@ -0,0 +1,75 @@
+package game.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import game.model.GameModel;
+import game.model.LevelLoader;
+import game.model.exception.LevelLoadException;
+
+/**
+ * {@link TickScheduler} llevado a mano con tick(), sin reloj.
+ */
+class TickSchedulerTest {
+
+    @Test
+    void sessionsThatFinishOrThrowLeaveAndTheRestKeepTicking() throws LevelLoadException {
+        List<GameSession> reported = new ArrayList<>();
+        try (TickScheduler scheduler = new TickScheduler(2, reported::add)) {
+            GameSession healthy = new GameSession(new GameModel(LevelLoader.loadLevel(0)));
+            GameSession finishing = new GameSession(Sessions.finishingModel());
+            GameSession throwing = new GameSession(Sessions.throwingModel());
+            scheduler.add(finishing);
+            scheduler.add(healthy);
+            scheduler.add(throwing);
+
+            scheduler.tick();
+            assertEquals(1, scheduler.getActiveSessions());
+            assertEquals(List.of(finishing, throwing), reported);
+
+            for (int i = 0; i < 10; i++) {
+                scheduler.tick();
+            }
+            assertEquals(11, healthy.getTick());
+            assertEquals(2, reported.size());
+        }
+    }
+
+    @Test
+    void removeThenAddLeavesTheSessionScheduled() throws LevelLoadException {
+        try (TickScheduler scheduler = new TickScheduler(1, null)) {
+            GameSession session = new GameSession(new GameModel(LevelLoader.loadLevel(0)));
+            scheduler.add(session);
+            scheduler.tick();
+
+            scheduler.remove(session);
+            scheduler.add(session);
+            scheduler.tick();
+            assertEquals(1, scheduler.getActiveSessions());
+            assertEquals(2, session.getTick());
+
+            scheduler.add(session);
+            scheduler.remove(session);
+            scheduler.tick();
+            assertEquals(0, scheduler.getActiveSessions());
+            assertEquals(2, session.getTick());
+        }
+    }
+
+    @Test
+    void clockSurvivesAThrowingSession() throws LevelLoadException, InterruptedException {
+        try (TickScheduler scheduler = new TickScheduler(1, null)) {
+            GameSession healthy = new GameSession(new GameModel(LevelLoader.loadLevel(0)));
+            scheduler.add(new GameSession(Sessions.throwingModel()));
+            scheduler.add(healthy);
+            scheduler.start();
+            assertTrue(Sessions.waitFor(() -> healthy.getTick() >= 30), "la sesión sana dejó de avanzar");
+            assertEquals(1, scheduler.getActiveSessions());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package game.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * El índice por offsets de {@link JsonLevelIndex} frente a parsear el árbol completo.
+ */
+class JsonLevelIndexTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void indexDecodesTheSameLevelsAsTheFullTree(@TempDir Path directory) throws IOException, LevelLoadException {
+        JsonNode levels = fullTree().get("levels");
+        Path file = directory.resolve("levels.json");
+        Files.write(file, resourceBytes());
+
+        for (JsonLevelIndex index : new JsonLevelIndex[] {
+                JsonLevelIndex.fromResource("/levels.json"), JsonLevelIndex.fromFile(file) }) {
+            assertEquals(levels.size(), index.getTotalLevels());
+            for (int i = 0; i < levels.size(); i++) {
+                assertEquals(levels.get(i), index.getLevelNode(i), "nodo del nivel " + (i + 1));
+                long hash = LevelTemplate.of(LevelLoader.parseLevel(levels.get(i))).contentHash();
+                assertEquals(hash, LevelTemplate.of(index.loadLevel(i)).contentHash(), "nivel " + (i + 1));
+                assertEquals(hash, LevelTemplate.hashOf(index.loadLevel(i)), "hashOf del nivel " + (i + 1));
+            }
+        }
+    }
+
+    @Test
+    void countingLevelsDoesNotBuildTheTree(@TempDir Path directory) throws IOException, LevelLoadException {
+        // Unos cuantos MB de niveles: el árbol completo ocuparía bastante más que el fichero
+        Path file = directory.resolve("levels.json");
+        Files.write(file, repeatedLevels(400));
+        long size = Files.size(file);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int total = JsonLevelIndex.fromFile(file).getTotalLevels();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(400 * fullTree().get("levels").size(), total);
+        assertTrue(allocated < size / 4, allocated + " bytes reservados para indexar " + size + " bytes");
+    }
+
+    @Test
+    void fileThatShrankAfterIndexingIsAnEofError(@TempDir Path directory) throws IOException, LevelLoadException {
+        Path file = directory.resolve("levels.json");
+        Files.write(file, resourceBytes());
+        JsonLevelIndex index = JsonLevelIndex.fromFile(file);
+        int last = index.getTotalLevels() - 1;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 200); // Corta el último nivel
+        }
+
+        LevelLoadException e = assertThrows(LevelLoadException.class, () -> index.getLevelNode(last));
+        assertInstanceOf(EOFException.class, e.getCause());
+    }
+
+    private static JsonNode fullTree() throws IOException {
+        return mapper.readTree(resourceBytes());
+    }
+
+    private static byte[] resourceBytes() throws IOException {
+        try (InputStream is = JsonLevelIndexTest.class.getResourceAsStream("/levels.json")) {
+            return is.readAllBytes();
+        }
+    }
+
+    // Un documento con los niveles de 'levels.json' repetidos 'copies' veces
+    private static byte[] repeatedLevels(int copies) throws IOException {
+        StringBuilder json = new StringBuilder("{\"levels\": [");
+        for (JsonNode level : fullTree().get("levels")) {
+            String text = mapper.writeValueAsString(level);
+            for (int c = 0; c < copies; c++) {
+                json.append(json.charAt(json.length() - 1) == '[' ? "" : ",").append(text);
+            }
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package game.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * El hash de los niveles (el que llevan las grabaciones) se saca de los bytes de la fuente,
+ * sin cargar niveles que la partida aún no ha jugado.
+ */
+class LevelLoaderTest {
+
+    @AfterEach
+    void restoreLevelSource() {
+        LevelLoader.setLevelSource(null);
+    }
+
+    @Test
+    void levelsHashDoesNotLoadLevels() throws LevelLoadException {
+        LevelLoader.setLevelSource(JsonLevelIndex.fromResource("/levels.json"));
+        GameModel model = new GameModel((ExecutorService) null); // Sin precargar el nivel 2
+        long hash = model.getLevelsHash();
+
+        assertTrue(LevelLoader.isTemplateLoaded(0));
+        for (int i = 1; i < LevelLoader.getTotalLevels(); i++) {
+            assertFalse(LevelLoader.isTemplateLoaded(i), "nivel " + (i + 1) + " cargado");
+        }
+        assertEquals(hash, LevelLoader.getLevelsHash());
+    }
+
+    @Test
+    void levelsHashFollowsTheBytes(@TempDir Path directory) throws IOException, LevelLoadException {
+        byte[] json;
+        try (InputStream is = LevelLoaderTest.class.getResourceAsStream("/levels.json")) {
+            json = is.readAllBytes();
+        }
+        Path file = directory.resolve("levels.json");
+        Files.write(file, json);
+        long hash = JsonLevelIndex.fromResource("/levels.json").contentHash();
+        assertEquals(hash, JsonLevelIndex.fromFile(file).contentHash());
+
+        // El primer '0' del documento pasa a '1': el mismo tamaño, otro contenido
+        int digit = new String(json, "UTF-8").indexOf('0');
+        json[digit] = '1';
+        Files.write(file, json);
+        assertNotEquals(hash, JsonLevelIndex.fromFile(file).contentHash());
+    }
+}
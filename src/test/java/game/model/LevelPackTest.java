@@ -0,0 +1,55 @@
+package game.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * Un 'levels.json' compilado a '.lvlbin' y proyectado en memoria debe dar exactamente los
+ * mismos niveles que el JSON: se compara el {@link LevelTemplate#contentHash()} de cada uno.
+ */
+class LevelPackTest {
+
+    @Test
+    void compiledPackMatchesLevelsJson(@TempDir Path directory) throws IOException, LevelLoadException {
+        JsonLevelIndex json = JsonLevelIndex.fromResource("/levels.json");
+        Path file = directory.resolve("levels" + LevelPack.EXTENSION);
+        LevelPackCompiler.compile(readLevelNodes(), file);
+
+        LevelPack pack = LevelPack.open(file);
+        assertEquals(json.getTotalLevels(), pack.getTotalLevels());
+        for (int i = 0; i < pack.getTotalLevels(); i++) {
+            assertEquals(LevelTemplate.of(json.loadLevel(i)).contentHash(),
+                    LevelTemplate.of(pack.loadLevel(i)).contentHash(), "nivel " + (i + 1));
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotPacks(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("roto" + LevelPack.EXTENSION);
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        assertThrows(LevelLoadException.class, () -> LevelPack.open(file));
+    }
+
+    private static List<JsonNode> readLevelNodes() throws IOException {
+        try (InputStream is = LevelPackTest.class.getResourceAsStream("/levels.json")) {
+            List<JsonNode> levels = new ArrayList<>();
+            new ObjectMapper().readTree(is).get("levels").forEach(levels::add);
+            return levels;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package game.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import game.model.exception.LevelLoadException;
+
+/**
+ * El paso de los obstáculos no debe reservar memoria una vez calentado el JIT. Se mide con el
+ * contador de bytes reservados por hilo de {@link com.sun.management.ThreadMXBean}.
+ */
+class ObstacleAllocationTest {
+    // Pasos de obstáculo (ticks x obstáculos) para calentar y para medir
+    private static final int WARMUP_STEPS = 2_000_000;
+    private static final int MEASURED_STEPS = 1_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void levelsFromLevelsJsonDoNotAllocate() throws LevelLoadException {
+        for (int i = 0; i < LevelLoader.getTotalLevels(); i++) {
+            Level level = LevelLoader.loadLevel(i);
+            assertEquals(0, allocatedWhileStepping(level.getObstacleField(), level),
+                    "bytes reservados en el nivel " + (i + 1));
+        }
+    }
+
+    @Test
+    void fieldWithoutPrecomputedMotionDoesNotAllocate() throws LevelLoadException {
+        // Mismos obstáculos, pero avanzados por el kernel en vez de por los recorridos
+        Level level = LevelLoader.loadLevel(0);
+        List<Obstacle> obstacles = new ArrayList<>();
+        for (Obstacle obstacle : level.getObstacles()) {
+            obstacles.add(new Obstacle(obstacle.getX(), obstacle.getY(), obstacle.getRadius(), 2f,
+                    obstacle.isHorizontal(), level.getWindowWidth(), level.getWindowHeight()));
+        }
+        ObstacleField field = ObstacleField.bind(obstacles);
+        assertEquals(0, allocatedWhileStepping(field, level), "bytes reservados por el kernel");
+    }
+
+    @Test
+    void singleObstacleUpdateDoesNotAllocate() throws LevelLoadException {
+        Level level = LevelLoader.loadLevel(0);
+        Obstacle obstacle = level.getObstacles().get(0);
+        int[][] tileMap = level.getTileMap();
+        int tileSize = level.getTileSize();
+        for (int t = 0; t < WARMUP_STEPS; t++) {
+            obstacle.update(tileMap, tileSize);
+        }
+        long before = allocatedBytes();
+        for (int t = 0; t < MEASURED_STEPS; t++) {
+            obstacle.update(tileMap, tileSize);
+        }
+        assertEquals(0, allocatedBytes() - before - counterOverhead());
+    }
+
+    private long allocatedWhileStepping(ObstacleField field, Level level) {
+        int[][] tileMap = level.getTileMap();
+        int tileSize = level.getTileSize();
+        int count = Math.max(1, field.size());
+        for (int t = 0; t < WARMUP_STEPS / count; t++) {
+            field.update(tileMap, tileSize);
+        }
+        long overhead = counterOverhead();
+        long before = allocatedBytes();
+        for (int t = 0; t < MEASURED_STEPS / count; t++) {
+            field.update(tileMap, tileSize);
+        }
+        return allocatedBytes() - before - overhead;
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Lo que cuesta leer el contador dos veces seguidas, para descontarlo
+    private long counterOverhead() {
+        long first = allocatedBytes();
+        return allocatedBytes() - first;
+    }
+}
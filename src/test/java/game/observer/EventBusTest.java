@@ -0,0 +1,155 @@
+package game.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import game.model.GameModel;
+import game.model.LevelLoader;
+import game.model.exception.LevelLoadException;
+
+/**
+ * {@link EventBus} con un suscriptor lento y una cola pequeña, para que se llene y entre en
+ * juego la política de contrapresión.
+ */
+class EventBusTest {
+    private static final int CAPACITY = 16;
+    private static final int EVENTS = 5_000;
+
+    @Test
+    void eachModelIsDeliveredInOrder() throws Exception {
+        for (EventBus.Backpressure policy : EventBus.Backpressure.values()) {
+            Recorder recorder = publishAlternating(policy);
+            assertFalse(recorder.outOfOrder, policy + ": eventos de una partida desordenados");
+        }
+    }
+
+    @Test
+    void lastValueIsAlwaysDelivered() throws Exception {
+        for (EventBus.Backpressure policy : new EventBus.Backpressure[] {
+                EventBus.Backpressure.COALESCE, EventBus.Backpressure.BLOCK }) {
+            Recorder recorder = publishAlternating(policy);
+            assertEquals(EVENTS - 1, recorder.lastOf(recorder.first), policy + ": primera partida");
+            assertEquals(EVENTS, recorder.lastOf(recorder.second), policy + ": segunda partida");
+        }
+    }
+
+    @Test
+    void droppedEventsAreCounted() throws Exception {
+        int publishers = 3;
+        AtomicLong delivered = new AtomicLong();
+        try (EventBus bus = new EventBus(CAPACITY, EventBus.Backpressure.DROP)) {
+            bus.subscribe(new Observer() {
+                @Override
+                public void onNotify(GameModel model, EventType event) {}
+
+                @Override
+                public void onNotifyBatch(GameModel[] models, EventType[] events, int[] deathCounts,
+                        int[] levelIndexes, int count) {
+                    delivered.addAndGet(count);
+                    LockSupport.parkNanos(100_000);
+                }
+            });
+            GameModel model = new CountingModel();
+            Thread[] threads = new Thread[publishers];
+            for (int t = 0; t < publishers; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < EVENTS; i++) {
+                        bus.publish(model, EventType.values()[i % EventType.values().length]);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            long published = (long) publishers * EVENTS;
+            assertTrue(waitFor(() -> delivered.get() + bus.getDropped() == published),
+                    delivered.get() + " entregados + " + bus.getDropped() + " perdidos != " + published);
+            assertTrue(bus.getDropped() > 0, "la cola no llegó a llenarse");
+        }
+    }
+
+    // Publica EVENTS eventos alternando dos partidas; el número de muertes hace de contador.
+    // Salvo con DROP, espera (como mucho 5 s) a que llegue el último de cada una
+    private static Recorder publishAlternating(EventBus.Backpressure policy) throws Exception {
+        Recorder recorder = new Recorder();
+        try (EventBus bus = new EventBus(CAPACITY, policy)) {
+            bus.subscribe(recorder);
+            for (int i = 1; i <= EVENTS; i++) {
+                CountingModel model = (i & 1) == 0 ? recorder.second : recorder.first;
+                model.deaths = i;
+                bus.publish(model, i % 3 == 0 ? EventType.PLAYER_DEATH : EventType.COIN_COLLECTED);
+            }
+            if (policy != EventBus.Backpressure.DROP) {
+                waitFor(() -> recorder.lastOf(recorder.first) == EVENTS - 1
+                        && recorder.lastOf(recorder.second) == EVENTS);
+            }
+        }
+        return recorder;
+    }
+
+    private static boolean waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static final class CountingModel extends GameModel {
+        volatile int deaths;
+
+        CountingModel() throws LevelLoadException {
+            super(LevelLoader.loadLevel(0));
+        }
+
+        @Override
+        public int getDeathCount() {
+            return deaths;
+        }
+    }
+
+    // Guarda el último número de muertes entregado de cada partida y si alguno llegó hacia atrás
+    private static final class Recorder implements Observer {
+        final CountingModel first;
+        final CountingModel second;
+        private final Map<GameModel, Integer> last = new IdentityHashMap<>();
+        volatile boolean outOfOrder;
+
+        Recorder() throws LevelLoadException {
+            first = new CountingModel();
+            second = new CountingModel();
+        }
+
+        @Override
+        public void onNotify(GameModel model, EventType event) {}
+
+        @Override
+        public synchronized void onNotifyBatch(GameModel[] models, EventType[] events, int[] deathCounts,
+                int[] levelIndexes, int count) {
+            for (int i = 0; i < count; i++) {
+                Integer previous = last.put(models[i], deathCounts[i]);
+                if (previous != null && deathCounts[i] <= previous) {
+                    outOfOrder = true;
+                }
+            }
+            LockSupport.parkNanos(50_000);
+        }
+
+        synchronized int lastOf(GameModel model) {
+            return last.getOrDefault(model, 0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package game.observer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import game.model.GameModel;
+import game.model.exception.LevelLoadException;
+
+/**
+ * El {@link EventJournal} se lee con {@link EventJournalReader}: ningún registro se pierde
+ * al cambiar de segmento con varios hilos escribiendo, y cada uno lleva su partida, tick y nivel.
+ */
+class EventJournalTest {
+
+    @Test
+    void concurrentWritersAcrossTinySegments(@TempDir Path directory) throws Exception {
+        int writers = 4;
+        int perWriter = 500;
+        try (EventJournal journal = new EventJournal(directory, 2)) {
+            Thread[] threads = new Thread[writers];
+            for (int t = 0; t < writers; t++) {
+                long session = t;
+                threads[t] = new Thread(() -> {
+                    for (int tick = 0; tick < perWriter; tick++) {
+                        journal.append(tick, session, tick % 7, EventType.COIN_COLLECTED, 0, 0);
+                        if (session == 0) {
+                            Thread.yield(); // Uno más lento, para que los segmentos se crucen
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        BitSet[] seen = new BitSet[writers];
+        for (int t = 0; t < writers; t++) {
+            seen[t] = new BitSet(perWriter);
+        }
+        int records = 0;
+        try (EventJournalReader reader = new EventJournalReader(directory)) {
+            while (reader.next()) {
+                int session = (int) reader.getSessionId();
+                int tick = (int) reader.getTick();
+                assertEquals(tick % 7, reader.getLevelIndex(), "nivel del tick " + tick + " de la partida " + session);
+                assertFalse(seen[session].get(tick), "tick " + tick + " de la partida " + session + " repetido");
+                seen[session].set(tick);
+                records++;
+            }
+        }
+        assertEquals(writers * perWriter, records);
+    }
+
+    @Test
+    void gameCompleteCarriesTheLastLevelPlayed(@TempDir Path directory) throws IOException, LevelLoadException {
+        GameModel model = new GameModel((ExecutorService) null);
+        try (EventJournal journal = new EventJournal(directory, 64)) {
+            model.getSubject().addObserver(journal);
+            while (!model.isGameOver()) {
+                model.completeLevel();
+            }
+        }
+
+        List<EventType> types = new ArrayList<>();
+        List<Integer> levels = new ArrayList<>();
+        try (EventJournalReader reader = new EventJournalReader(directory)) {
+            while (reader.next()) {
+                types.add(reader.getEventType());
+                levels.add(reader.getLevelIndex());
+            }
+        }
+        int last = types.size() - 1;
+        assertEquals(EventType.GAME_COMPLETE, types.get(last));
+        assertEquals(model.getTotalLevels() - 1, levels.get(last));
+    }
+}
@@ -0,0 +1,65 @@
+package game.model;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Versión de {@link ObstacleKernel} con la Vector API del JDK. Procesa tantos obstáculos
+ * por instrucción como quepan en un registro SIMD; el resto del array se hace en escalar.
+ * Solo se carga (por reflexión) cuando jdk.incubator.vector está disponible.
+ */
+class VectorObstacleKernel extends ObstacleKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    void advance(ObstacleField field, int count) {
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector next = FloatVector.fromArray(SPECIES, field.pos, i)
+                    .add(FloatVector.fromArray(SPECIES, field.speed, i));
+            FloatVector radius = FloatVector.fromArray(SPECIES, field.radiusF, i);
+            FloatVector limit = FloatVector.fromArray(SPECIES, field.limit, i);
+
+            VectorMask<Float> out = next.sub(radius).compare(VectorOperators.LT, 0f)
+                    .or(next.add(radius).compare(VectorOperators.GT, limit));
+
+            next.intoArray(field.tentative, i);
+            out.intoArray(field.outOfWindow, i);
+        }
+        advanceScalar(field, i, count);
+    }
+
+    @Override
+    int firstIntersecting(ObstacleField field, int count, float playerX, float playerY, int playerSize) {
+        float maxX = playerX + playerSize;
+        float maxY = playerY + playerSize;
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Float> horizontal = VectorMask.fromArray(SPECIES, field.horizontal, i);
+            FloatVector pos = FloatVector.fromArray(SPECIES, field.pos, i);
+            FloatVector fixed = FloatVector.fromArray(SPECIES, field.fixed, i);
+            FloatVector centerX = fixed.blend(pos, horizontal);
+            FloatVector centerY = pos.blend(fixed, horizontal);
+
+            FloatVector distanceX = centerX.sub(centerX.min(maxX).max(playerX));
+            FloatVector distanceY = centerY.sub(centerY.min(maxY).max(playerY));
+            FloatVector radius = FloatVector.fromArray(SPECIES, field.radiusF, i);
+
+            VectorMask<Float> hit = distanceX.mul(distanceX).add(distanceY.mul(distanceY))
+                    .compare(VectorOperators.LT, radius.mul(radius));
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        return firstIntersectingScalar(field, i, count, playerX, playerY, playerSize);
+    }
+}